@@ -1,3 +1,22 @@
 dependencies {
     compileOnly("org.spigotmc:spigot-api:1.19.4-R0.1-SNAPSHOT")
-}
\ No newline at end of file
+}
+
+// 多版本 jar：src/main/java21 下的类覆盖同名的 Java 8 实现，仅在 Java 21+ 上加载（如虚拟线程支持）
+val java21 by sourceSets.creating {
+    java.srcDir("src/main/java21")
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>(java21.compileJavaTaskName) {
+    options.release.set(21)
+}
+
+tasks.jar {
+    into("META-INF/versions/21") {
+        from(java21.output)
+    }
+    manifest {
+        attributes("Multi-Release" to "true")
+    }
+}
@@ -27,6 +27,12 @@ public enum ServerType {
         "org.spigotmc.SpigotConfig"
     ),
 
+    // 没有服务端、类路径中只有 platform:simulated 模块时（CI 测试、基准测试）
+    SIMULATED(
+        "Simulated",
+        "cn.yvmou.ylib.scheduler.SimulatedScheduler"
+    ),
+
     UNKNOWN(
         "Unknown",
         null
@@ -72,6 +78,8 @@ public enum ServerType {
             return "Folia";
         } else if (this == ServerType.PAPER) {
             return "Paper";
+        } else if (this == ServerType.SIMULATED) {
+            return "Simulated";
         } else {
             return "Spigot";
         }
@@ -3,6 +3,11 @@ package cn.yvmou.ylib;
 import cn.yvmou.ylib.command.CommandManager;
 import cn.yvmou.ylib.config.ConfigurationManager;
 import cn.yvmou.ylib.logger.Logger;
+import cn.yvmou.ylib.scheduler.InstrumentedScheduler;
+import cn.yvmou.ylib.scheduler.SchedulerOptions;
+import cn.yvmou.ylib.scheduler.TaskBatcher;
+import cn.yvmou.ylib.scheduler.TaskStatistics;
+import cn.yvmou.ylib.scheduler.TrackingScheduler;
 import cn.yvmou.ylib.scheduler.UniversalScheduler;
 import cn.yvmou.ylib.scheduler.UniversalSchedulerProvider;
 import org.bukkit.plugin.Plugin;
@@ -53,6 +58,8 @@ public class YLib {
     private final ServerType serverType;
     // Server instance
     private UniversalScheduler universalScheduler;
+    private volatile TaskBatcher taskBatcher;
+    private SchedulerOptions schedulerOptions = new SchedulerOptions();
     private CommandManager commandManager;
     private ConfigurationManager configurationManager;
     private Logger logger;
@@ -79,6 +86,9 @@ public class YLib {
                 case SPIGOT:
                     implSimpleName = "SpigotSchedulerProvider";
                     break;
+                case SIMULATED:
+                    implSimpleName = "SimulatedSchedulerProvider";
+                    break;
                 default:
                     implSimpleName = null;
             }
@@ -93,7 +103,7 @@ public class YLib {
                     try {
                         UniversalSchedulerProvider provider = it.next();
                         if (provider.getServerType() == serverType) {
-                            universalScheduler = provider.create(plugin);
+                            universalScheduler = provider.create(plugin, schedulerOptions);
                             break;
                         }
                     } catch (ServiceConfigurationError error) {
@@ -112,7 +122,7 @@ public class YLib {
                     if (pkg != null) {
                         Class<?> impl = Class.forName(pkg.getName() + "." + implSimpleName, true, UniversalSchedulerProvider.class.getClassLoader());
                         UniversalSchedulerProvider provider = (UniversalSchedulerProvider) impl.getDeclaredConstructor().newInstance();
-                        universalScheduler = provider.create(plugin);
+                        universalScheduler = provider.create(plugin, schedulerOptions);
                     }
                 } catch (Throwable throwable) {
                     if (failure == null) failure = throwable;
@@ -123,10 +133,46 @@ public class YLib {
                 throw new YLibException("Scheduler implementation not found for server type: " + serverType
                         + ". Please ensure the platform-specific module is included. Cause: " + failure, failure);
             }
+
+            universalScheduler = new TrackingScheduler(plugin, universalScheduler);
+            if (schedulerOptions.isStatistics()) {
+                universalScheduler = new InstrumentedScheduler(universalScheduler,
+                        new TaskStatistics(plugin, schedulerOptions.getOverrunThresholdMillis()));
+            }
         }
         return universalScheduler;
     }
 
+    /**
+     * 设置调度器选项（异步后端、并发上限等），必须在首次调用 {@link #getScheduler()} 之前设置
+     * @param options 调度器选项
+     * @throws IllegalStateException 调度器已创建
+     */
+    public void setSchedulerOptions(@NotNull SchedulerOptions options) {
+        if (universalScheduler != null) {
+            throw new IllegalStateException("Scheduler has already been created, options must be set before getScheduler()");
+        }
+        this.schedulerOptions = options;
+    }
+
+    /**
+     * 获取任务合批器，同一 tick 内提交到同一上下文的任务合并为一个平台任务
+     */
+    @NotNull
+    public TaskBatcher getTaskBatcher() {
+        TaskBatcher batcher = taskBatcher;
+        if (batcher == null) {
+            synchronized (this) {
+                batcher = taskBatcher;
+                if (batcher == null) {
+                    batcher = new TaskBatcher(plugin, getScheduler());
+                    taskBatcher = batcher;
+                }
+            }
+        }
+        return batcher;
+    }
+
     @NotNull
     public CommandManager getCommandManager() {
         return commandManager;
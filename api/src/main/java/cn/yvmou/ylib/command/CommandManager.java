@@ -2,7 +2,13 @@ package cn.yvmou.ylib.command;
 
 import cn.yvmou.ylib.command.annotation.Command;
 import cn.yvmou.ylib.command.annotation.SubCommand;
+import cn.yvmou.ylib.command.audit.ArgumentRedactor;
+import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * 命令管理器接口
@@ -49,4 +55,62 @@ public interface CommandManager {
      * </p>
      */
     void reload();
+
+    /**
+     * 获取命令的帮助页
+     * <p>
+     * 帮助在命令注册（或重载）后编译一次，按发送者拥有的权限组合缓存渲染结果，
+     * 只列出发送者有权限执行的子命令。第一行为标题。
+     * </p>
+     *
+     * @param sender 查看帮助的发送者
+     * @param commandName 主命令名称
+     * @param page 页码（从 1 开始，超出范围时取最近的页）
+     * @return 帮助行，命令不存在时返回空列表
+     */
+    @NotNull
+    List<String> getHelpPage(@NotNull CommandSender sender, @NotNull String commandName, int page);
+
+    /**
+     * 向发送者发送命令的帮助页
+     *
+     * @param sender 查看帮助的发送者
+     * @param commandName 主命令名称
+     * @param page 页码（从 1 开始）
+     * @see #getHelpPage(CommandSender, String, int)
+     */
+    default void sendHelp(@NotNull CommandSender sender, @NotNull String commandName, int page) {
+        for (String line : getHelpPage(sender, commandName, page)) {
+            sender.sendMessage(line);
+        }
+    }
+
+    /**
+     * 启用命令审计日志
+     * <p>
+     * 记录每次命令执行的发送者、命令路径、解析后的参数、结果和耗时，
+     * 写入插件数据目录下的 {@code audit/commands.log}，按大小和日期滚动并压缩旧文件。
+     * 服务器线程只做一次有界队列写入，队列满时丢弃并计数，不会阻塞。
+     * 重复调用会替换之前的脱敏器。
+     * </p>
+     *
+     * @param redactor 参数脱敏器，为 null 时原样记录所有参数
+     */
+    void enableAuditLog(@Nullable ArgumentRedactor redactor);
+
+    /**
+     * 关闭命令审计日志，写出剩余记录并关闭文件
+     */
+    void disableAuditLog();
+
+    /**
+     * 获取审计日志统计信息
+     * <p>
+     * 包含已记录、已丢弃、已写入的记录数等。未启用时返回空 Map。
+     * </p>
+     *
+     * @return 统计信息
+     */
+    @NotNull
+    Map<String, Object> getAuditStatistics();
 }
@@ -1,5 +1,7 @@
 package cn.yvmou.ylib.command.annotation;
 
+import cn.yvmou.ylib.command.args.SuggestionProvider;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -24,4 +26,31 @@ public @interface Arg {
      * </p>
      */
     String suggestion() default "";
+
+    /**
+     * 动态补全结果的缓存时长（毫秒）
+     * <p>
+     * 大于 0 时，{@link #suggestion()} 指向的方法在有效期内只会被调用一次，
+     * 过期后在补全请求所在线程重新调用。默认 0 表示不缓存。
+     * </p>
+     * @see SuggestionProvider#cached(SuggestionProvider, long, SuggestionProvider.KeyFunction, int, boolean)
+     */
+    long suggestionCacheTtl() default 0;
+
+    /**
+     * 动态补全缓存的作用域，仅在 {@link #suggestionCacheTtl()} 大于 0 时生效
+     * <p>
+     * 默认作用域以空字符串作为当前输入调用补全方法，缓存完整列表并按当前输入过滤；
+     * 补全方法按前缀查询时使用 {@code GLOBAL_BY_INPUT} 或 {@code SENDER_BY_INPUT}。
+     * </p>
+     */
+    SuggestionProvider.CacheScope suggestionCacheScope() default SuggestionProvider.CacheScope.GLOBAL;
+
+    /**
+     * 动态补全缓存过期后是否先返回旧结果并在异步线程刷新，仅在 {@link #suggestionCacheTtl()} 大于 0 时生效
+     * <p>
+     * 开启后补全方法会在异步线程上以触发刷新时的发送者和上下文调用，不能使用只能在主线程调用的 Bukkit API。
+     * </p>
+     */
+    boolean suggestionCacheAsyncRefresh() default false;
 }
@@ -0,0 +1,138 @@
+package cn.yvmou.ylib.command.args;
+
+import cn.yvmou.ylib.YLib;
+import cn.yvmou.ylib.command.context.CommandContext;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 带 TTL 的补全缓存，由 {@link SuggestionProvider#cached} 创建
+ */
+final class CachedSuggestionProvider implements SuggestionProvider {
+    static final int DEFAULT_MAX_ENTRIES = 512;
+
+    private final SuggestionProvider delegate;
+    private final long ttlNanos;
+    private final KeyFunction keyFunction;
+    private final boolean asyncRefresh;
+    // 以空前缀加载完整列表、读取时按当前输入过滤；为 false 时当前输入原样传给补全方法
+    private final boolean filterByInput;
+    // 按访问顺序排列的 LRU，超出上限时淘汰最久未使用的键；所有访问都在 synchronized (entries) 内
+    private final Map<Object, CacheEntry> entries;
+
+    CachedSuggestionProvider(SuggestionProvider delegate, long ttlMillis, KeyFunction keyFunction, int maxEntries,
+                             boolean asyncRefresh, boolean filterByInput) {
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.keyFunction = keyFunction;
+        this.asyncRefresh = asyncRefresh;
+        this.filterByInput = filterByInput;
+        this.entries = new LinkedHashMap<Object, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @NotNull
+    @Override
+    public List<String> suggest(@NotNull CommandSender sender, @NotNull CommandContext context, @NotNull String currentInput) {
+        if (!filterByInput) {
+            return lookup(sender, context, currentInput);
+        }
+        return filter(lookup(sender, context, ""), currentInput);
+    }
+
+    private List<String> lookup(CommandSender sender, CommandContext context, String currentInput) {
+        Object key = keyFunction.key(sender, context, currentInput);
+        long now = System.nanoTime();
+
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        // 没有缓存、已经过旧（超过两倍有效期）或未开启异步刷新时已过期：在调用线程同步加载
+        long expiry = asyncRefresh ? 2 * ttlNanos : ttlNanos;
+        if (entry == null || now - entry.loadedAt >= expiry) {
+            List<String> suggestions = load(sender, context, currentInput);
+            store(key, suggestions);
+            return suggestions;
+        }
+
+        // 已过期但仍可用：先返回旧值，由一个异步任务刷新
+        if (now - entry.loadedAt >= ttlNanos && entry.refreshing.compareAndSet(false, true)) {
+            refreshAsync(key, entry, sender, context, currentInput);
+        }
+        return entry.suggestions;
+    }
+
+    /**
+     * 按当前输入过滤完整列表（忽略大小写的前缀匹配）
+     */
+    private static List<String> filter(List<String> suggestions, String currentInput) {
+        if (currentInput.isEmpty()) {
+            return suggestions;
+        }
+        List<String> matched = new ArrayList<>();
+        for (int i = 0; i < suggestions.size(); i++) {
+            String suggestion = suggestions.get(i);
+            if (suggestion.regionMatches(true, 0, currentInput, 0, currentInput.length())) {
+                matched.add(suggestion);
+            }
+        }
+        return matched;
+    }
+
+    private void refreshAsync(Object key, CacheEntry entry, CommandSender sender, CommandContext context, String currentInput) {
+        Runnable refresh = () -> {
+            try {
+                store(key, load(sender, context, currentInput));
+            } finally {
+                entry.refreshing.set(false);
+            }
+        };
+        try {
+            YLib.getYLib().getScheduler().runAsync(refresh);
+        } catch (RuntimeException e) {
+            // 调度器不可用（未初始化或平台模块缺失）时退化为同步刷新
+            refresh.run();
+        }
+    }
+
+    private List<String> load(CommandSender sender, CommandContext context, String currentInput) {
+        List<String> suggestions = delegate.suggest(sender, context, currentInput);
+        if (suggestions == null || suggestions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // 拷贝一份，避免提供器之后修改原列表影响缓存
+        return Collections.unmodifiableList(new ArrayList<>(suggestions));
+    }
+
+    private void store(Object key, List<String> suggestions) {
+        CacheEntry entry = new CacheEntry(suggestions, System.nanoTime());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private static final class CacheEntry {
+        final List<String> suggestions;
+        final long loadedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CacheEntry(List<String> suggestions, long loadedAt) {
+            this.suggestions = suggestions;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
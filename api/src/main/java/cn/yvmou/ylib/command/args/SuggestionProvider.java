@@ -2,8 +2,10 @@ package cn.yvmou.ylib.command.args;
 
 import cn.yvmou.ylib.command.context.CommandContext;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,4 +22,168 @@ public interface SuggestionProvider {
      */
     @NotNull
     List<String> suggest(@NotNull CommandSender sender, @NotNull CommandContext context, @NotNull String currentInput);
+
+    /**
+     * 为补全提供器加上全局缓存
+     * @param delegate 实际的补全提供器
+     * @param ttlMillis 缓存有效期（毫秒）
+     * @return 带缓存的补全提供器
+     * @see #cached(SuggestionProvider, long, KeyFunction, int)
+     */
+    @NotNull
+    static SuggestionProvider cached(@NotNull SuggestionProvider delegate, long ttlMillis) {
+        return cached(delegate, ttlMillis, CacheScope.GLOBAL);
+    }
+
+    /**
+     * 为补全提供器加上缓存
+     * @param delegate 实际的补全提供器
+     * @param ttlMillis 缓存有效期（毫秒）
+     * @param scope 缓存作用域
+     * @return 带缓存的补全提供器
+     * @see #cached(SuggestionProvider, long, KeyFunction, int, boolean)
+     */
+    @NotNull
+    static SuggestionProvider cached(@NotNull SuggestionProvider delegate, long ttlMillis, @NotNull CacheScope scope) {
+        return cached(delegate, ttlMillis, scope, false);
+    }
+
+    /**
+     * 为补全提供器加上缓存
+     * @param delegate 实际的补全提供器
+     * @param ttlMillis 缓存有效期（毫秒）
+     * @param scope 缓存作用域
+     * @param asyncRefresh 过期后是否在异步线程刷新
+     * @return 带缓存的补全提供器
+     * @see #cached(SuggestionProvider, long, KeyFunction, int, boolean)
+     */
+    @NotNull
+    static SuggestionProvider cached(@NotNull SuggestionProvider delegate, long ttlMillis, @NotNull CacheScope scope, boolean asyncRefresh) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+        }
+        return new CachedSuggestionProvider(delegate, ttlMillis, scope.keyFunction(), CachedSuggestionProvider.DEFAULT_MAX_ENTRIES,
+                asyncRefresh, !scope.byInput());
+    }
+
+    /**
+     * 为补全提供器加上缓存，过期后在调用线程上重新加载
+     * @param delegate 实际的补全提供器
+     * @param ttlMillis 缓存有效期（毫秒），必须大于 0
+     * @param keyFunction 缓存键计算函数
+     * @param maxEntries 最多缓存的键数量，必须大于 0
+     * @return 带缓存的补全提供器
+     * @see #cached(SuggestionProvider, long, KeyFunction, int, boolean)
+     */
+    @NotNull
+    static SuggestionProvider cached(@NotNull SuggestionProvider delegate, long ttlMillis, @NotNull KeyFunction keyFunction, int maxEntries) {
+        return cached(delegate, ttlMillis, keyFunction, maxEntries, false);
+    }
+
+    /**
+     * 为补全提供器加上缓存
+     * <p>
+     * 同一个缓存键在有效期内只调用一次 {@code delegate}，缓存按最近最少使用淘汰，最多保留 {@code maxEntries} 个键。
+     * 过期后默认在调用线程（补全请求所在线程）上同步重新加载。
+     * 当前输入原样传给 {@code keyFunction} 和 {@code delegate}，缓存结果不再过滤；
+     * 需要按前缀查询时键函数应包含当前输入，否则应使用 {@link #cached(SuggestionProvider, long, CacheScope, boolean)}。
+     * </p>
+     * <p>
+     * {@code asyncRefresh} 为 true 时，过期后先返回旧结果，同时通过异步调度器刷新（stale-while-revalidate），
+     * 超过两倍有效期的结果视为失效，重新同步加载。异步刷新使用触发刷新的那次请求的发送者和上下文，
+     * {@code delegate} 必须线程安全，不能依赖只能在主线程（或发送者所在区域线程）调用的 Bukkit API，
+     * 也不能依赖发送者的实时状态。
+     * </p>
+     * @param delegate 实际的补全提供器
+     * @param ttlMillis 缓存有效期（毫秒），必须大于 0
+     * @param keyFunction 缓存键计算函数
+     * @param maxEntries 最多缓存的键数量，必须大于 0
+     * @param asyncRefresh 过期后是否在异步线程刷新
+     * @return 带缓存的补全提供器
+     */
+    @NotNull
+    static SuggestionProvider cached(@NotNull SuggestionProvider delegate, long ttlMillis, @NotNull KeyFunction keyFunction,
+                                     int maxEntries, boolean asyncRefresh) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        return new CachedSuggestionProvider(delegate, ttlMillis, keyFunction, maxEntries, asyncRefresh, false);
+    }
+
+    /**
+     * 补全缓存键计算函数
+     */
+    @FunctionalInterface
+    interface KeyFunction {
+        /**
+         * 计算缓存键，返回值需要正确实现 equals/hashCode
+         * @param sender 命令发送者
+         * @param context 当前上下文
+         * @param currentInput 当前输入的参数片段
+         * @return 缓存键
+         */
+        @NotNull
+        Object key(@NotNull CommandSender sender, @NotNull CommandContext context, @NotNull String currentInput);
+    }
+
+    /**
+     * 补全缓存作用域
+     * <p>
+     * {@link #GLOBAL} 和 {@link #SENDER} 不按当前输入区分：以空字符串作为当前输入加载完整列表，
+     * 读取时按当前输入（忽略大小写的前缀）过滤，玩家逐字输入时有效期内只调用一次补全方法。
+     * 补全方法本身按前缀查询（如数据库的前缀搜索）时使用 {@code *_BY_INPUT}，当前输入原样传入并参与缓存键。
+     * </p>
+     */
+    enum CacheScope {
+        /** 所有发送者共享，按已输入的前序参数区分 */
+        GLOBAL,
+        /** 每个发送者独立，按发送者和已输入的前序参数区分 */
+        SENDER,
+        /** 所有发送者共享，按已输入的前序参数和当前输入区分 */
+        GLOBAL_BY_INPUT,
+        /** 每个发送者独立，按发送者、已输入的前序参数和当前输入区分 */
+        SENDER_BY_INPUT;
+
+        /**
+         * 缓存键是否包含当前输入
+         */
+        boolean byInput() {
+            return this == GLOBAL_BY_INPUT || this == SENDER_BY_INPUT;
+        }
+
+        @NotNull
+        KeyFunction keyFunction() {
+            boolean byInput = byInput();
+            if (this == GLOBAL || this == GLOBAL_BY_INPUT) {
+                return (sender, context, currentInput) -> inputKey(context, byInput ? currentInput : null);
+            }
+            return (sender, context, currentInput) -> {
+                // 实体（玩家）用 UUID 区分，控制台等使用名称
+                List<String> key = inputKey(context, byInput ? currentInput : null);
+                key.add(sender instanceof Entity
+                        ? ((Entity) sender).getUniqueId().toString()
+                        : sender.getName());
+                return key;
+            };
+        }
+
+        /**
+         * 已输入的参数（不含正在输入的最后一个），需要时加上当前输入；同一参数的补全可能依赖前面的参数
+         */
+        private static List<String> inputKey(CommandContext context, String currentInput) {
+            String[] rawArgs = context.rawArgs();
+            int previous = Math.max(rawArgs.length - 1, 0);
+            List<String> key = new ArrayList<>(previous + 2);
+            for (int i = 0; i < previous; i++) {
+                key.add(rawArgs[i]);
+            }
+            if (currentInput != null) {
+                key.add(currentInput);
+            }
+            return key;
+        }
+    }
 }
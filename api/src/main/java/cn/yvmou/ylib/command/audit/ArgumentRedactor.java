@@ -0,0 +1,24 @@
+package cn.yvmou.ylib.command.audit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 审计日志参数脱敏器
+ * <p>
+ * 在参数写入审计日志前调用，可用于隐藏密码、令牌等敏感参数。
+ * 调用发生在后台写入线程，实现不能依赖只能在主线程调用的 Bukkit API。
+ * </p>
+ */
+@FunctionalInterface
+public interface ArgumentRedactor {
+    /**
+     * 脱敏参数值
+     * @param commandPath 命令路径，如 "login"、"shop buy"
+     * @param argumentName 参数名称
+     * @param value 解析后的参数值
+     * @return 写入日志的值；返回 null 表示不记录该参数
+     */
+    @Nullable
+    Object redact(@NotNull String commandPath, @NotNull String argumentName, @Nullable Object value);
+}
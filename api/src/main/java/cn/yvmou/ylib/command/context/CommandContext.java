@@ -4,6 +4,7 @@ import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -13,15 +14,25 @@ public class CommandContext {
     private final Map<String, Object> arguments;
     private final String[] rawArgs;
     private final String command;
+    private final String path;
 
     /**
      * 命令执行上下文
      */
     public CommandContext(CommandSender sender, Map<String, Object> arguments, String[] rawArgs, String command) {
+        this(sender, arguments, rawArgs, command, command);
+    }
+
+    /**
+     * 命令执行上下文
+     * @param path 匹配到的命令路径（主命令名 + 子命令字面量），如 "shop buy"
+     */
+    public CommandContext(CommandSender sender, Map<String, Object> arguments, String[] rawArgs, String command, String path) {
         this.sender = sender;
         this.arguments = arguments != null ? arguments : new HashMap<>();
         this.rawArgs = rawArgs;
         this.command = command;
+        this.path = path;
     }
 
     /**
@@ -60,6 +71,13 @@ public class CommandContext {
         return (T) value;
     }
 
+    /**
+     * 获取所有已解析的参数（只读）
+     */
+    public @NotNull Map<String, Object> arguments() {
+        return Collections.unmodifiableMap(arguments);
+    }
+
     /**
      * 获取原始参数数组
      */
@@ -73,4 +91,11 @@ public class CommandContext {
     public @NotNull String getCommand() {
         return command;
     }
+
+    /**
+     * 获取匹配到的命令路径（主命令名 + 子命令字面量，不含参数），如 "shop buy"
+     */
+    public @NotNull String getPath() {
+        return path;
+    }
 }
@@ -0,0 +1,230 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * 异步任务后端 - 为 {@code runAsync} 提供虚拟线程或有界线程池，并限制每个插件的并发数
+ * <p>
+ * 由平台调度器在 {@link SchedulerOptions#getAsyncBackend()} 不是 {@link SchedulerOptions.AsyncBackend#SERVER} 时创建。
+ * 每个插件最多同时运行 {@link SchedulerOptions#getMaxAsyncConcurrency()} 个任务，
+ * 超出的任务在该插件的队列中等待，避免大量阻塞 I/O 无限制地占用载体线程。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class AsyncDispatcher {
+
+    private final Executor carrier;
+    private final boolean virtual;
+    private final int maxConcurrency;
+    private final Map<Plugin, Limiter> limiters = new ConcurrentHashMap<>();
+
+    private AsyncDispatcher(Executor carrier, boolean virtual, int maxConcurrency) {
+        this.carrier = carrier;
+        this.virtual = virtual;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * 根据选项创建异步后端
+     * @param plugin 插件实例（用于线程命名）
+     * @param options 调度器选项
+     * @return AsyncDispatcher 异步后端，选项为 {@link SchedulerOptions.AsyncBackend#SERVER} 时返回 null
+     */
+    @Nullable
+    public static AsyncDispatcher create(@NotNull Plugin plugin, @NotNull SchedulerOptions options) {
+        String namePrefix = plugin.getName() + "-async";
+        int maxConcurrency = options.getMaxAsyncConcurrency();
+        switch (options.getAsyncBackend()) {
+            case VIRTUAL_THREADS:
+                if (VirtualThreads.isSupported()) {
+                    return new AsyncDispatcher(VirtualThreads.newExecutor(namePrefix), true, maxConcurrency);
+                }
+                plugin.getLogger().info("Virtual threads are not available on this JVM, falling back to a bounded thread pool");
+                return new AsyncDispatcher(newBoundedPool(namePrefix, maxConcurrency), false, maxConcurrency);
+            case BOUNDED_POOL:
+                return new AsyncDispatcher(newBoundedPool(namePrefix, maxConcurrency), false, maxConcurrency);
+            default:
+                return null;
+        }
+    }
+
+    private static Executor newBoundedPool(String namePrefix, int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + "-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // 空闲线程超时回收，插件关闭后不会残留线程
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * 是否使用虚拟线程
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * 提交异步任务
+     * @param plugin 任务所属插件（并发上限按插件计算）
+     * @param runnable 要执行的任务
+     * @return UniversalTask 任务句柄
+     */
+    @NotNull
+    public UniversalTask submit(@NotNull Plugin plugin, @NotNull Runnable runnable) {
+        DispatchedTask task = new DispatchedTask(plugin, runnable);
+        limiters.computeIfAbsent(plugin, Limiter::new).execute(task);
+        return task;
+    }
+
+    /**
+     * 取消插件所有排队中的任务（正在运行的任务不会被中断）
+     * @param plugin 插件实例
+     */
+    public void cancelAll(@NotNull Plugin plugin) {
+        Limiter limiter = limiters.get(plugin);
+        if (limiter != null) {
+            limiter.cancelQueued();
+        }
+    }
+
+    /**
+     * 获取插件当前正在运行的异步任务数
+     * @param plugin 插件实例
+     */
+    public int getActiveCount(@NotNull Plugin plugin) {
+        Limiter limiter = limiters.get(plugin);
+        return limiter == null ? 0 : limiter.active.get();
+    }
+
+    /**
+     * 单个插件的并发限制器
+     */
+    private final class Limiter {
+        private final Plugin plugin;
+        private final ConcurrentLinkedQueue<DispatchedTask> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger active = new AtomicInteger();
+
+        Limiter(Plugin plugin) {
+            this.plugin = plugin;
+        }
+
+        void execute(DispatchedTask task) {
+            queue.offer(task);
+            dispatch();
+        }
+
+        /**
+         * 在并发上限内把排队的任务交给载体执行器；入队和任务结束后都会调用，因此不会丢失唤醒
+         */
+        private void dispatch() {
+            for (;;) {
+                int current = active.get();
+                if (current >= maxConcurrency || queue.isEmpty()) return;
+                if (!active.compareAndSet(current, current + 1)) continue;
+
+                DispatchedTask next = queue.poll();
+                if (next == null) {
+                    active.decrementAndGet();
+                    continue;
+                }
+                try {
+                    carrier.execute(() -> run(next));
+                } catch (RejectedExecutionException e) {
+                    active.decrementAndGet();
+                    next.cancel();
+                    plugin.getLogger().log(Level.WARNING, "Async task rejected", e);
+                }
+            }
+        }
+
+        private void run(DispatchedTask task) {
+            try {
+                task.execute();
+            } finally {
+                active.decrementAndGet();
+                dispatch();
+            }
+        }
+
+        void cancelQueued() {
+            DispatchedTask task;
+            while ((task = queue.poll()) != null) {
+                task.cancel();
+            }
+        }
+    }
+
+    /**
+     * 异步任务句柄
+     */
+    private static final class DispatchedTask extends AtomicInteger implements UniversalTask {
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int CANCELLED = 3;
+
+        private final Plugin plugin;
+        private final Runnable runnable;
+
+        DispatchedTask(Plugin plugin, Runnable runnable) {
+            this.plugin = plugin;
+            this.runnable = runnable;
+        }
+
+        void execute() {
+            if (!compareAndSet(PENDING, RUNNING)) return;
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                plugin.getLogger().log(Level.WARNING, "Async task threw an exception", throwable);
+            } finally {
+                set(DONE);
+            }
+        }
+
+        @Override
+        public Plugin getOwningPlugin() {
+            return plugin;
+        }
+
+        @Override
+        public void cancel() {
+            compareAndSet(PENDING, CANCELLED);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isCurrentlyRunning() {
+            return get() == RUNNING;
+        }
+
+        @Override
+        public TaskType getType() {
+            return TaskType.ASYNC;
+        }
+    }
+}
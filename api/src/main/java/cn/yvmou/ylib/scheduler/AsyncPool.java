@@ -0,0 +1,361 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 命名异步线程池 - 为一类工作负载（数据库、HTTP 等）提供隔离的、有界的异步执行
+ * <p>
+ * {@code runAsync} 使用共享线程池，一个插件提交大量慢查询会拖慢所有异步任务。
+ * 命名线程池有独立的线程和有界队列，队列满时按 {@link RejectionPolicy} 处理，形成背压：
+ * </p>
+ * <ul>
+ *     <li>{@link RejectionPolicy#CALLER_RUNS}：在提交任务的线程上直接执行，自然减缓提交速度。</li>
+ *     <li>{@link RejectionPolicy#DROP}：丢弃任务，返回的句柄为已取消状态。</li>
+ * </ul>
+ * <p>
+ * 通过 {@link UniversalScheduler#asyncPool(String, int, int, RejectionPolicy)} 获取，线程池按所属插件隔离，
+ * 同一插件的同名线程池只创建一次；插件的调度器 {@code cancelAllTasks(plugin)} 时关闭该插件的所有线程池。
+ * 线程池同时实现 {@link Executor}，可直接用于 {@code CompletableFuture.supplyAsync(supplier, pool)}。
+ * </p>
+ *
+ * <pre>{@code
+ * AsyncPool db = scheduler.asyncPool("db", 4, 256, AsyncPool.RejectionPolicy.CALLER_RUNS);
+ * db.submit(plugin, () -> repository.save(data));
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class AsyncPool implements Executor {
+
+    // 键为"所属插件名:线程池名"，不属于任何插件的线程池插件名为空
+    private static final Map<String, AsyncPool> POOLS = new ConcurrentHashMap<>();
+
+    private final Plugin owner;
+    private final String key;
+    private final String name;
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final RejectionPolicy rejectionPolicy;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private AsyncPool(Plugin owner, String key, String name, int maxThreads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        this.owner = owner;
+        this.key = key;
+        this.name = name;
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, (owner != null ? owner.getName() : "ylib") + "-" + name + "-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        // 空闲线程超时回收，插件关闭后不会残留线程
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 获取或创建不属于任何插件的命名线程池，同名线程池已存在时返回已有实例（参数以首次创建为准）
+     * <p>需要自行调用 {@link #shutdown()}，插件的线程池请使用 {@link #named(Plugin, String, int, int, RejectionPolicy)}</p>
+     * @param name 线程池名称
+     * @param maxThreads 最大线程数
+     * @param queueCapacity 队列容量
+     * @param rejectionPolicy 队列满时的处理策略
+     * @return AsyncPool 线程池
+     */
+    @NotNull
+    public static AsyncPool named(@NotNull String name, int maxThreads, int queueCapacity, @NotNull RejectionPolicy rejectionPolicy) {
+        return named(null, name, maxThreads, queueCapacity, rejectionPolicy);
+    }
+
+    /**
+     * 获取或创建插件的命名线程池，同一插件的同名线程池已存在时返回已有实例（参数以首次创建为准）
+     * @param owner 所属插件，为 null 时不属于任何插件
+     * @param name 线程池名称
+     * @param maxThreads 最大线程数
+     * @param queueCapacity 队列容量
+     * @param rejectionPolicy 队列满时的处理策略
+     * @return AsyncPool 线程池
+     */
+    @NotNull
+    public static AsyncPool named(@Nullable Plugin owner, @NotNull String name, int maxThreads, int queueCapacity,
+                                  @NotNull RejectionPolicy rejectionPolicy) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("maxThreads must be positive: " + maxThreads);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        String poolKey = keyOf(owner, name);
+        AsyncPool pool = POOLS.get(poolKey);
+        if (pool != null && !pool.isShutdown()) {
+            return pool;
+        }
+        return POOLS.compute(poolKey, (key, existing) -> existing != null && !existing.isShutdown()
+                ? existing : new AsyncPool(owner, key, name, maxThreads, queueCapacity, rejectionPolicy));
+    }
+
+    /**
+     * 查找已创建的、不属于任何插件的命名线程池
+     * @param name 线程池名称
+     * @return AsyncPool 线程池，不存在或已关闭时返回 null
+     */
+    @Nullable
+    public static AsyncPool get(@NotNull String name) {
+        return get(null, name);
+    }
+
+    /**
+     * 查找插件已创建的命名线程池
+     * @param owner 所属插件，为 null 时查找不属于任何插件的线程池
+     * @param name 线程池名称
+     * @return AsyncPool 线程池，不存在或已关闭时返回 null
+     */
+    @Nullable
+    public static AsyncPool get(@Nullable Plugin owner, @NotNull String name) {
+        AsyncPool pool = POOLS.get(keyOf(owner, name));
+        return pool == null || pool.isShutdown() ? null : pool;
+    }
+
+    /**
+     * 提交任务
+     * @param plugin 任务所属插件（用于记录异常），可为 null
+     * @param runnable 要执行的任务
+     * @return UniversalTask 任务句柄；被 {@link RejectionPolicy#DROP} 丢弃时为已取消状态
+     */
+    @NotNull
+    public UniversalTask submit(@Nullable Plugin plugin, @NotNull Runnable runnable) {
+        PoolTask task = new PoolTask(plugin, runnable);
+        submitted.increment();
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (executor.isShutdown() || rejectionPolicy == RejectionPolicy.DROP) {
+                dropped.increment();
+                task.cancel();
+            } else {
+                callerRuns.increment();
+                task.run();
+            }
+        }
+        return task;
+    }
+
+    /**
+     * 提交任务
+     * @param runnable 要执行的任务
+     * @return UniversalTask 任务句柄
+     */
+    @NotNull
+    public UniversalTask submit(@NotNull Runnable runnable) {
+        return submit(null, runnable);
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        submit(null, command);
+    }
+
+    /**
+     * 获取线程池名称
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取所属插件，不属于任何插件时为 null
+     */
+    @Nullable
+    public Plugin getOwner() {
+        return owner;
+    }
+
+    /**
+     * 获取当前排队的任务数量
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 获取正在执行的任务数量
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 获取统计信息：提交、完成、调用方执行、丢弃数量，队列深度与等待时间
+     */
+    @NotNull
+    public Map<String, Object> getStatistics() {
+        long done = completed.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("name", name);
+        stats.put("maxThreads", maxThreads);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("rejectionPolicy", rejectionPolicy.name());
+        stats.put("queueDepth", getQueueDepth());
+        stats.put("activeThreads", getActiveCount());
+        stats.put("submitted", submitted.sum());
+        stats.put("completed", done);
+        stats.put("callerRuns", callerRuns.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("avgWaitMillis", done == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / done);
+        stats.put("maxWaitMillis", maxWaitNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    /**
+     * 是否已关闭
+     */
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * 关闭线程池：排队中的任务被取消，正在执行的任务继续完成
+     */
+    public void shutdown() {
+        POOLS.remove(key, this);
+        List<Runnable> queued = new ArrayList<>();
+        executor.getQueue().drainTo(queued);
+        executor.shutdown();
+        for (Runnable runnable : queued) {
+            ((PoolTask) runnable).cancel();
+        }
+    }
+
+    /**
+     * 关闭所有命名线程池
+     */
+    public static void shutdownAll() {
+        for (AsyncPool pool : new ArrayList<>(POOLS.values())) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 关闭插件的所有命名线程池，由插件调度器的 {@code cancelAllTasks(plugin)} 调用
+     * @param owner 所属插件
+     */
+    public static void shutdownAll(@NotNull Plugin owner) {
+        for (AsyncPool pool : new ArrayList<>(POOLS.values())) {
+            if (pool.owner == owner) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static String keyOf(@Nullable Plugin owner, String name) {
+        return (owner != null ? owner.getName() : "") + ':' + name;
+    }
+
+    /**
+     * 队列满时的处理策略
+     */
+    public enum RejectionPolicy {
+        /** 在提交任务的线程上直接执行 */
+        CALLER_RUNS,
+        /** 丢弃任务 */
+        DROP
+    }
+
+    /**
+     * 线程池任务句柄
+     */
+    private final class PoolTask extends AtomicInteger implements Runnable, UniversalTask {
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int CANCELLED = 3;
+
+        private final Plugin plugin;
+        private final Runnable runnable;
+        private final long enqueuedAt = System.nanoTime();
+
+        PoolTask(Plugin plugin, Runnable runnable) {
+            this.plugin = plugin;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            if (!compareAndSet(PENDING, RUNNING)) return;
+            long waited = System.nanoTime() - enqueuedAt;
+            totalWaitNanos.add(waited);
+            long max;
+            while (waited > (max = maxWaitNanos.get())) {
+                if (maxWaitNanos.compareAndSet(max, waited)) break;
+            }
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                Logger logger = plugin != null ? plugin.getLogger() : Bukkit.getLogger();
+                logger.log(Level.WARNING, "Task in async pool '" + name + "' threw an exception", throwable);
+            } finally {
+                completed.increment();
+                set(DONE);
+            }
+        }
+
+        @Override
+        public Plugin getOwningPlugin() {
+            return plugin;
+        }
+
+        @Override
+        public void cancel() {
+            if (compareAndSet(PENDING, CANCELLED)) {
+                executor.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isCurrentlyRunning() {
+            return get() == RUNNING;
+        }
+
+        @Override
+        public TaskType getType() {
+            return TaskType.ASYNC;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * 异步定时任务 - 支持固定频率/固定延迟和错过执行的处理策略
+ * <p>
+ * 平台的异步定时任务（Bukkit 按 tick、Folia 按固定频率）在单次执行超时后会与下一次执行重叠，
+ * 或者连续补执行，导致慢任务堆积。本类每次执行结束后才用 {@code runLaterAsync} 调度下一次，
+ * 因此同一个定时任务的执行永远不会重叠，也不需要调用方加锁。{@code cancelAllTasks} / {@code cancelTask}
+ * 只能取消当前这一次的平台任务，定时任务在调度下一次前会检查它是否已被外部取消，是则一并结束：
+ * </p>
+ * <ul>
+ *     <li>{@link Mode#FIXED_RATE}：按开始时间计算的固定节拍执行，下一次执行时间以绝对时间计算，不会累积漂移。</li>
+ *     <li>{@link Mode#FIXED_DELAY}：上一次执行结束后等待一个周期再执行。</li>
+ * </ul>
+ * <p>
+ * 固定频率下单次执行超过周期时，错过的节拍按 {@link MissedRunPolicy} 处理；固定延迟模式没有错过的节拍。
+ * </p>
+ *
+ * <pre>{@code
+ * scheduler.runTimerAsync(plugin, metrics::flush, 20, 200,
+ *         AsyncTimer.Mode.FIXED_RATE, AsyncTimer.MissedRunPolicy.COALESCE);
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class AsyncTimer implements UniversalTask {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final UniversalScheduler scheduler;
+    private final Plugin plugin;
+    private final Runnable runnable;
+    private final long periodNanos;
+    private final Mode mode;
+    private final MissedRunPolicy policy;
+    private final LongAdder missedRuns = new LongAdder();
+
+    // 只在执行链上访问，执行链不会并发
+    private long nextDue;
+    // 已计入 missedRuns 的节拍边界，补执行时不重复计数
+    private long missedHorizon;
+    private volatile UniversalTask pending;
+    private volatile boolean running;
+    private volatile boolean cancelled;
+
+    private AsyncTimer(UniversalScheduler scheduler, @Nullable Plugin plugin, Runnable runnable, long period, Mode mode, MissedRunPolicy policy) {
+        this.scheduler = scheduler;
+        this.plugin = plugin;
+        this.runnable = runnable;
+        this.periodNanos = UniversalScheduler.clampDelay(period) * TICK_NANOS;
+        this.mode = mode;
+        this.policy = policy;
+    }
+
+    /**
+     * 启动异步定时任务
+     * @param scheduler 调度器
+     * @param plugin 插件实例，为 null 时使用调度器的默认插件
+     * @param runnable 要执行的任务
+     * @param delay 首次执行延迟（tick）
+     * @param period 周期（tick）
+     * @param mode 定时模式
+     * @param policy 错过执行的处理策略（仅固定频率模式）
+     * @return AsyncTimer 任务句柄
+     */
+    @NotNull
+    static AsyncTimer start(@NotNull UniversalScheduler scheduler, @Nullable Plugin plugin, @NotNull Runnable runnable,
+                            long delay, long period, @NotNull Mode mode, @NotNull MissedRunPolicy policy) {
+        AsyncTimer timer = new AsyncTimer(scheduler, plugin, runnable, period, mode, policy);
+        long initial = UniversalScheduler.clampDelay(delay);
+        timer.nextDue = System.nanoTime() + initial * TICK_NANOS;
+        timer.schedule(initial, null);
+        return timer;
+    }
+
+    /**
+     * 获取固定频率模式下错过的节拍数（跳过、合并或补执行的节拍都计入）
+     */
+    public long getMissedRuns() {
+        return missedRuns.sum();
+    }
+
+    @NotNull
+    public Mode getMode() {
+        return mode;
+    }
+
+    @NotNull
+    public MissedRunPolicy getMissedRunPolicy() {
+        return policy;
+    }
+
+    private void fire() {
+        // 本次执行对应的平台任务，执行期间被外部取消时不再继续调度
+        UniversalTask current = pending;
+        if (cancelled) return;
+        running = true;
+        try {
+            runnable.run();
+        } catch (Throwable throwable) {
+            Plugin owner = getOwningPlugin();
+            if (owner != null) {
+                owner.getLogger().log(Level.WARNING, "Async timer threw an exception", throwable);
+            }
+        } finally {
+            running = false;
+        }
+        if (cancelled) return;
+
+        long now = System.nanoTime();
+        if (mode == Mode.FIXED_DELAY) {
+            nextDue = now + periodNanos;
+            schedule(periodNanos / TICK_NANOS, current);
+            return;
+        }
+
+        nextDue += periodNanos;
+        if (nextDue > now) {
+            scheduleAt(nextDue, now, current);
+            return;
+        }
+        // 本次执行结束时已经错过了下一次（或更多）节拍
+        long missed = (now - nextDue) / periodNanos + 1;
+        long counted = Math.max(nextDue, missedHorizon);
+        if (counted <= now) {
+            long newlyMissed = (now - counted) / periodNanos + 1;
+            missedRuns.add(newlyMissed);
+            missedHorizon = counted + newlyMissed * periodNanos;
+        }
+        long firstSlotAfter = nextDue + missed * periodNanos;
+        switch (policy) {
+            case SKIP:
+                nextDue = firstSlotAfter;
+                scheduleAt(nextDue, now, current);
+                break;
+            case COALESCE:
+                // 立即执行一次代替所有错过的节拍，之后回到原节拍
+                nextDue = firstSlotAfter - periodNanos;
+                schedule(0, current);
+                break;
+            default:
+                // CATCH_UP：逐个补执行，每次补执行消耗一个错过的节拍
+                schedule(0, current);
+                break;
+        }
+    }
+
+    private void scheduleAt(long due, long now, UniversalTask previous) {
+        // 向上取整到 tick，宁可稍晚也不提前
+        schedule((due - now + TICK_NANOS - 1) / TICK_NANOS, previous);
+    }
+
+    /**
+     * 调度下一次执行
+     * @param previous 本次执行的平台任务，首次调度时为 null
+     */
+    private void schedule(long delayTicks, @Nullable UniversalTask previous) {
+        if (cancelledExternally(previous)) return;
+        UniversalTask task;
+        try {
+            if (delayTicks <= 0) {
+                task = plugin != null ? scheduler.runAsync(plugin, this::fire) : scheduler.runAsync(this::fire);
+            } else {
+                task = plugin != null ? scheduler.runLaterAsync(plugin, this::fire, delayTicks) : scheduler.runLaterAsync(this::fire, delayTicks);
+            }
+        } catch (IllegalStateException e) {
+            // 调度器已关闭（如所在的 TaskScope 已关闭）
+            cancelled = true;
+            return;
+        }
+        pending = task;
+        // 调度期间上一次的平台任务被取消（如 cancelAllTasks 恰好在此时遍历），新任务可能已错过这次取消
+        if (cancelledExternally(previous) && task != null) {
+            task.cancel();
+        }
+    }
+
+    private boolean cancelledExternally(@Nullable UniversalTask previous) {
+        if (!cancelled && previous != null && previous.isCancelled()) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+
+    @Override
+    public Plugin getOwningPlugin() {
+        if (plugin != null) return plugin;
+        UniversalTask task = pending;
+        return task == null ? null : task.getOwningPlugin();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        UniversalTask task = pending;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isCurrentlyRunning() {
+        return running;
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.REPEATING;
+    }
+
+    /**
+     * 定时模式
+     */
+    public enum Mode {
+        /** 固定频率：按开始时间计算的固定节拍执行 */
+        FIXED_RATE,
+        /** 固定延迟：上一次执行结束后等待一个周期 */
+        FIXED_DELAY
+    }
+
+    /**
+     * 固定频率模式下错过节拍的处理策略
+     */
+    public enum MissedRunPolicy {
+        /** 丢弃错过的节拍，等待下一个节拍 */
+        SKIP,
+        /** 立即执行一次代替所有错过的节拍，之后回到原节拍 */
+        COALESCE,
+        /** 逐个补执行所有错过的节拍 */
+        CATCH_UP
+    }
+}
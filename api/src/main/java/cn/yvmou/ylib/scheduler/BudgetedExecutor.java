@@ -0,0 +1,381 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * 按时间预算执行的工作队列 - 把大批量工作分摊到多个 tick
+ * <p>
+ * 插件提交大量小工作项，执行器每 tick 只执行预算（如 2 ms）内能完成的部分，剩余的留到下一 tick 继续，
+ * 避免"更新 5000 个全息图"、"重算所有领地"这类批量任务造成连续多 tick 的卡顿。
+ * </p>
+ * <ul>
+ *     <li>工作项按 {@link Priority} 分级，高优先级队列清空后才执行低优先级队列。</li>
+ *     <li>每 tick 至少执行一个工作步骤，保证即使单个工作项超出预算也能推进。</li>
+ *     <li>{@link Priority#DEFERRABLE} 工作项（粒子、计分板、排行榜等装饰性工作）在服务器过载时暂停，
+ *     tick 耗时回落到 {@link #deferThreshold(double)} 以下后再补上；tick 耗时取自
+ *     {@link UniversalScheduler#getTickTimeMillis()}，平台不提供时按本执行器相邻两次执行的间隔估算
+ *     （间隔只能反映超过 50 ms 的 tick，此时低于 50 ms 的阈值按 50 ms 生效）。</li>
+ *     <li>有工作时才占用调度器，队列清空后自动停止。</li>
+ *     <li>Folia 上每个实例绑定一个 {@link SchedulerContext}：为不同区域各建一个实例，
+ *     各区域线程独立消耗各自的预算。绑定实体时，实体被移除后执行器自动关闭，
+ *     未完成的工作项以 {@link CancellationException} 结束，之后的提交抛出异常。</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * BudgetedExecutor executor = new BudgetedExecutor(plugin, scheduler, SchedulerContext.global(), 2, TimeUnit.MILLISECONDS);
+ * executor.submitAll(BudgetedExecutor.Priority.LOW, holograms, Hologram::update)
+ *         .thenRun(() -> plugin.getLogger().info("全部全息图已更新"));
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class BudgetedExecutor {
+
+    /** 默认推迟阈值（毫秒），tick 耗时超过该值时暂停 {@link Priority#DEFERRABLE} 工作 */
+    public static final double DEFAULT_DEFER_THRESHOLD_MILLIS = 45.0;
+    // 正常 tick 间隔
+    private static final long TICK_NANOS = 50_000_000L;
+
+    private final Plugin plugin;
+    private final UniversalScheduler scheduler;
+    private final SchedulerContext context;
+    private final long budgetNanos;
+
+    private final ConcurrentLinkedQueue<Work>[] queues;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean shutdown;
+    private volatile double deferThresholdMillis = DEFAULT_DEFER_THRESHOLD_MILLIS;
+    // 上一次 tick 的开始时间，只由 tick 线程访问；0 表示上一 tick 没有执行
+    private long lastTickNanos;
+
+    /**
+     * 构造函数（全局上下文）
+     * @param plugin 插件实例
+     * @param scheduler 底层调度器
+     * @param budgetMillis 每 tick 预算（毫秒）
+     */
+    public BudgetedExecutor(@NotNull Plugin plugin, @NotNull UniversalScheduler scheduler, long budgetMillis) {
+        this(plugin, scheduler, SchedulerContext.global(), budgetMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param scheduler 底层调度器
+     * @param context 执行上下文
+     * @param budget 每 tick 预算
+     * @param unit 预算单位
+     */
+    @SuppressWarnings("unchecked")
+    public BudgetedExecutor(@NotNull Plugin plugin, @NotNull UniversalScheduler scheduler, @NotNull SchedulerContext context,
+                            long budget, @NotNull TimeUnit unit) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("Budget must be positive: " + budget);
+        }
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.context = context;
+        this.budgetNanos = unit.toNanos(budget);
+
+        Priority[] priorities = Priority.values();
+        this.queues = new ConcurrentLinkedQueue[priorities.length];
+        for (int i = 0; i < priorities.length; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * 设置推迟阈值：tick 耗时超过该值时暂停 {@link Priority#DEFERRABLE} 工作
+     * <p>
+     * 平台不提供 MSPT（{@link UniversalScheduler#getTickTimeMillis()} 返回 -1，如 Spigot、Folia 区域）时，
+     * 只能通过 tick 间隔发现超过 50 ms 的 tick，低于 50 ms 的阈值实际按 50 ms 生效。
+     * </p>
+     * @param thresholdMillis 阈值（毫秒）
+     * @return this
+     */
+    @NotNull
+    public BudgetedExecutor deferThreshold(double thresholdMillis) {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("Defer threshold must be positive: " + thresholdMillis);
+        }
+        this.deferThresholdMillis = thresholdMillis;
+        return this;
+    }
+
+    /**
+     * 提交单个工作项（普通优先级）
+     * @param runnable 工作项
+     * @return 工作项完成时完成的 Future
+     */
+    @NotNull
+    public CompletableFuture<Void> submit(@NotNull Runnable runnable) {
+        return submit(Priority.NORMAL, runnable);
+    }
+
+    /**
+     * 提交单个工作项
+     * @param priority 优先级
+     * @param runnable 工作项
+     * @return 工作项完成时完成的 Future
+     */
+    @NotNull
+    public CompletableFuture<Void> submit(@NotNull Priority priority, @NotNull Runnable runnable) {
+        return enqueue(priority, new SingleWork(runnable));
+    }
+
+    /**
+     * 提交批量工作：对每个元素执行一次 action，逐个元素计入预算
+     * <p>
+     * 批量工作只占一个队列位置，不会为每个元素创建任务对象。元素在执行时才从迭代器中取出，
+     * 因此集合在工作完成前不应被修改。
+     * </p>
+     * @param priority 优先级
+     * @param elements 元素
+     * @param action 对每个元素执行的操作
+     * @return 全部元素处理完成时完成的 Future
+     */
+    @NotNull
+    public <T> CompletableFuture<Void> submitAll(@NotNull Priority priority, @NotNull Iterable<T> elements, @NotNull Consumer<? super T> action) {
+        return enqueue(priority, new BulkWork<>(elements.iterator(), action));
+    }
+
+    /**
+     * 获取尚未完成的工作项数量（批量工作计为一项）
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * 获取执行上下文
+     */
+    @NotNull
+    public SchedulerContext getContext() {
+        return context;
+    }
+
+    /**
+     * 关闭执行器，未完成的工作项以 {@link CancellationException} 结束
+     * <p>
+     * 队列只由持有运行标记的线程清空：执行器空闲时在调用线程上清空，否则由下一次 tick 清空。
+     * </p>
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (running.compareAndSet(false, true)) {
+            cancelQueued("BudgetedExecutor has been shut down");
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Priority priority, Work work) {
+        if (shutdown) {
+            throw new IllegalStateException("BudgetedExecutor has been shut down");
+        }
+        ConcurrentLinkedQueue<Work> queue = queues[priority.ordinal()];
+        pending.incrementAndGet();
+        queue.offer(work);
+        if (shutdown) {
+            // 与 shutdown 并发：清空可能已经结束，自行撤回；撤回失败说明清空线程已经处理了它
+            if (queue.remove(work)) {
+                pending.decrementAndGet();
+                work.future.completeExceptionally(new CancellationException("BudgetedExecutor has been shut down"));
+            }
+            return work.future;
+        }
+        if (running.compareAndSet(false, true)) {
+            schedule(context.runTask(scheduler, plugin, this::tick, this::retire));
+        }
+        return work.future;
+    }
+
+    private void tick() {
+        if (shutdown) {
+            cancelQueued("BudgetedExecutor has been shut down");
+            return;
+        }
+        long now = System.nanoTime();
+        long interval = lastTickNanos == 0 ? 0 : now - lastTickNanos;
+        lastTickNanos = now;
+        int usable = isOverloaded(interval) ? Priority.DEFERRABLE.ordinal() : queues.length;
+
+        long deadline = now + budgetNanos;
+        do {
+            Work work = null;
+            ConcurrentLinkedQueue<Work> queue = null;
+            for (int i = 0; i < usable; i++) {
+                ConcurrentLinkedQueue<Work> candidate = queues[i];
+                work = candidate.peek();
+                if (work != null) {
+                    queue = candidate;
+                    break;
+                }
+            }
+            if (work == null) break;
+
+            // 按引用移除：执行期间该工作项可能已被并发的 enqueue 撤回，此时不能误删后面的工作项
+            boolean done;
+            try {
+                done = work.step();
+            } catch (Throwable throwable) {
+                if (queue.remove(work)) {
+                    pending.decrementAndGet();
+                    plugin.getLogger().log(Level.WARNING, "Budgeted work item threw an exception", throwable);
+                    work.future.completeExceptionally(throwable);
+                }
+                continue;
+            }
+            if (done && queue.remove(work)) {
+                pending.decrementAndGet();
+                work.future.complete(null);
+            }
+        } while (!shutdown && System.nanoTime() < deadline);
+
+        if (shutdown) {
+            cancelQueued("BudgetedExecutor has been shut down");
+            return;
+        }
+        if (pending.get() > 0) {
+            schedule(context.runLater(scheduler, plugin, this::tick, this::retire, 1));
+            return;
+        }
+        // 队列已空：释放运行标记后复查，避免与并发提交之间丢失唤醒
+        lastTickNanos = 0;
+        running.set(false);
+        // 释放期间并发的 shutdown 无法取得运行标记，同样需要在这里接手
+        if (pending.get() > 0 && running.compareAndSet(false, true)) {
+            if (shutdown) {
+                cancelQueued("BudgetedExecutor has been shut down");
+            } else {
+                schedule(context.runLater(scheduler, plugin, this::tick, this::retire, 1));
+            }
+        }
+    }
+
+    /**
+     * 检查下一次 tick 是否调度成功；实体上下文的实体已被移除时调度器不会再执行，直接结束所有工作项
+     */
+    private void schedule(UniversalTask task) {
+        if (task == null || task.isCancelled()) {
+            retire();
+        }
+    }
+
+    /**
+     * 实体上下文的实体已被移除：提交时返回失败，或排队期间由平台的 retired 回调通知。
+     * 两种情况下下一次 tick 都不会执行，运行标记仍由这次调度持有，在这里清空队列并释放
+     */
+    private void retire() {
+        shutdown = true;
+        cancelQueued("Execution context of BudgetedExecutor has been retired: " + context);
+    }
+
+    /**
+     * 清空所有队列并释放运行标记，调用方必须持有运行标记
+     */
+    private void cancelQueued(String reason) {
+        do {
+            for (ConcurrentLinkedQueue<Work> queue : queues) {
+                Work work;
+                while ((work = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    work.future.completeExceptionally(new CancellationException(reason));
+                }
+            }
+            lastTickNanos = 0;
+            running.set(false);
+            // 释放标记前入队的工作项由这里清空，之后入队的由 enqueue 自行撤回
+        } while (hasQueued() && running.compareAndSet(false, true));
+    }
+
+    private boolean hasQueued() {
+        for (ConcurrentLinkedQueue<Work> queue : queues) {
+            if (!queue.isEmpty()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 当前 tick 是否过载
+     * @param intervalNanos 与上一次 tick 的间隔，未知时为 0
+     */
+    private boolean isOverloaded(long intervalNanos) {
+        double threshold = deferThresholdMillis;
+        double mspt = scheduler.getTickTimeMillis();
+        if (mspt >= 0) {
+            return mspt > threshold;
+        }
+        // 没有 MSPT 时按间隔估算：tick 超时后会紧接着执行下一 tick，间隔近似等于上一 tick 的耗时；
+        // 未超时的 tick 间隔固定为 50 ms，看不出实际耗时，因此低于 50 ms 的阈值在这里等同于 50 ms
+        return intervalNanos > TICK_NANOS && intervalNanos / 1_000_000.0 > threshold;
+    }
+
+    /**
+     * 工作项优先级
+     */
+    public enum Priority {
+        /** 高优先级 */
+        HIGH,
+        /** 普通优先级 */
+        NORMAL,
+        /** 低优先级，适合可以慢慢完成的后台工作 */
+        LOW,
+        // 需保持为最后一个：过载时只扫描它之前的队列
+        /** 可推迟，服务器过载时暂停执行 */
+        DEFERRABLE
+    }
+
+    private abstract static class Work {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        /**
+         * 执行一个步骤
+         * @return 工作是否已全部完成
+         */
+        abstract boolean step();
+    }
+
+    private static final class SingleWork extends Work {
+        private final Runnable runnable;
+
+        SingleWork(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        boolean step() {
+            runnable.run();
+            return true;
+        }
+    }
+
+    private static final class BulkWork<T> extends Work {
+        private final Iterator<T> iterator;
+        private final Consumer<? super T> action;
+
+        BulkWork(Iterator<T> iterator, Consumer<? super T> action) {
+            this.iterator = iterator;
+            this.action = action;
+        }
+
+        @Override
+        boolean step() {
+            if (iterator.hasNext()) {
+                action.accept(iterator.next());
+            }
+            return !iterator.hasNext();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 批量执行的完成计数 - 多个分组任务全部结束后完成同一个 Future
+ * <p>
+ * 供 {@link UniversalScheduler#forEachEntity} 等批量方法使用：每个分组结束时调用 {@link #done()}，
+ * 分组内需要转交到其他上下文的元素先 {@link #fork()} 再调度。单个元素抛出的异常不会中断其他元素，
+ * 第一个异常作为 Future 的异常结果，其余的附加为 suppressed。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class BulkCompletion {
+
+    private final AtomicInteger pending;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    /**
+     * 构造函数
+     * @param parts 初始分组数量，为 0 时 Future 立即完成
+     */
+    public BulkCompletion(int parts) {
+        this.pending = new AtomicInteger(parts);
+        if (parts == 0) {
+            future.complete(null);
+        }
+    }
+
+    /**
+     * 增加一个待完成的部分，必须在当前部分 {@link #done()} 之前调用
+     */
+    public void fork() {
+        pending.incrementAndGet();
+    }
+
+    /**
+     * 对单个元素执行操作，异常被记录而不是抛出
+     */
+    public <T> void apply(T target, @NotNull Consumer<? super T> action) {
+        try {
+            action.accept(target);
+        } catch (Throwable throwable) {
+            fail(throwable);
+        }
+    }
+
+    /**
+     * 记录一个异常
+     */
+    public void fail(@NotNull Throwable throwable) {
+        if (!failure.compareAndSet(null, throwable)) {
+            Throwable first = failure.get();
+            synchronized (first) {
+                first.addSuppressed(throwable);
+            }
+        }
+    }
+
+    /**
+     * 标记一个部分已完成，全部完成时结束 Future
+     */
+    public void done() {
+        if (pending.decrementAndGet() == 0) {
+            Throwable throwable = failure.get();
+            if (throwable == null) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    /**
+     * 全部部分完成时完成的 Future
+     */
+    @NotNull
+    public CompletableFuture<Void> future() {
+        return future;
+    }
+}
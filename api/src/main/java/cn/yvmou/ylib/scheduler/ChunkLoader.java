@@ -0,0 +1,198 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 批量区块加载 - {@link UniversalScheduler#loadChunksAsync} 的实现
+ * <p>
+ * 区块按到起点的距离由近到远加载，重复坐标只加载一次，结果按传入顺序返回：
+ * </p>
+ * <ul>
+ *     <li>{@link #loadAsync}：Paper/Folia 使用 {@code getChunkAtAsync}，同时进行中的请求不超过并发上限，
+ *     每完成一个再发起下一个。</li>
+ *     <li>{@link #loadBudgeted}：Spigot 没有异步区块 API，在主线程上同步加载，每 tick 只用掉预算内的时间。</li>
+ * </ul>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class ChunkLoader {
+
+    /** 默认同时进行的异步加载请求数 */
+    public static final int DEFAULT_CONCURRENCY = 16;
+    /** Spigot 上每 tick 同步加载区块的默认预算 */
+    public static final long DEFAULT_SYNC_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private ChunkLoader() {
+    }
+
+    /**
+     * 通过异步区块 API 加载
+     * @param chunks 区块坐标
+     * @param origin 起点，为 null 时取所有坐标的中心
+     * @param concurrency 同时进行的请求数上限
+     * @param loader 发起单个区块加载的函数（如 {@code pos -> world.getChunkAtAsync(pos.getX(), pos.getZ())}）
+     * @return 全部加载完成时完成的 Future，结果与传入顺序一致；任一区块加载失败时以该异常完成
+     */
+    @NotNull
+    public static CompletableFuture<List<Chunk>> loadAsync(@NotNull Collection<ChunkPos> chunks, @Nullable ChunkPos origin, int concurrency,
+                                                           @NotNull Function<ChunkPos, CompletableFuture<Chunk>> loader) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        List<ChunkPos> ordered = orderByDistance(chunks, origin);
+        CompletableFuture<List<Chunk>> result = new CompletableFuture<>();
+        if (ordered.isEmpty()) {
+            result.complete(new ArrayList<>());
+            return result;
+        }
+
+        Map<ChunkPos, Chunk> loaded = new ConcurrentHashMap<>();
+        AtomicInteger cursor = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(ordered.size());
+        Runnable[] pump = new Runnable[1];
+        pump[0] = () -> {
+            // 已加载的区块会同步完成，在循环中处理，避免回调层层递归
+            for (;;) {
+                int index = cursor.getAndIncrement();
+                if (index >= ordered.size() || result.isDone()) return;
+                ChunkPos pos = ordered.get(index);
+                CompletableFuture<Chunk> future;
+                try {
+                    future = loader.apply(pos);
+                } catch (Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                    return;
+                }
+                if (!future.isDone()) {
+                    future.whenComplete((chunk, throwable) -> {
+                        if (record(result, chunks, loaded, remaining, pos, chunk, throwable)) {
+                            pump[0].run();
+                        }
+                    });
+                    return;
+                }
+                Chunk chunk;
+                try {
+                    chunk = future.join();
+                } catch (Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                    return;
+                }
+                if (!record(result, chunks, loaded, remaining, pos, chunk, null)) return;
+            }
+        };
+        for (int i = 0; i < Math.min(concurrency, ordered.size()); i++) {
+            pump[0].run();
+        }
+        return result;
+    }
+
+    /**
+     * 在调度器的全局上下文中同步加载，每 tick 只使用预算内的时间（至少加载一个区块）
+     * @param scheduler 调度器
+     * @param world 世界
+     * @param chunks 区块坐标
+     * @param origin 起点，为 null 时取所有坐标的中心
+     * @param budgetNanos 每 tick 预算（纳秒）
+     * @return 全部加载完成时完成的 Future，结果与传入顺序一致
+     */
+    @NotNull
+    public static CompletableFuture<List<Chunk>> loadBudgeted(@NotNull UniversalScheduler scheduler, @NotNull World world,
+                                                              @NotNull Collection<ChunkPos> chunks, @Nullable ChunkPos origin, long budgetNanos) {
+        List<ChunkPos> ordered = orderByDistance(chunks, origin);
+        CompletableFuture<List<Chunk>> result = new CompletableFuture<>();
+        if (ordered.isEmpty()) {
+            result.complete(new ArrayList<>());
+            return result;
+        }
+
+        Map<ChunkPos, Chunk> loaded = new ConcurrentHashMap<>();
+        int[] cursor = new int[1];
+        Runnable[] step = new Runnable[1];
+        step[0] = () -> {
+            long deadline = System.nanoTime() + budgetNanos;
+            try {
+                do {
+                    ChunkPos pos = ordered.get(cursor[0]++);
+                    loaded.put(pos, world.getChunkAt(pos.getX(), pos.getZ()));
+                } while (cursor[0] < ordered.size() && System.nanoTime() < deadline);
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+            if (cursor[0] < ordered.size()) {
+                scheduler.runLater(step[0], 1);
+            } else {
+                result.complete(collect(chunks, loaded));
+            }
+        };
+        scheduler.runTask(step[0]);
+        return result;
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    /**
+     * 记录单个区块的加载结果
+     * @return 是否应继续发起下一个请求
+     */
+    private static boolean record(CompletableFuture<List<Chunk>> result, Collection<ChunkPos> chunks, Map<ChunkPos, Chunk> loaded,
+                                  AtomicInteger remaining, ChunkPos pos, Chunk chunk, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            result.completeExceptionally(throwable);
+            return false;
+        }
+        loaded.put(pos, chunk);
+        if (remaining.decrementAndGet() == 0) {
+            result.complete(collect(chunks, loaded));
+            return false;
+        }
+        return true;
+    }
+
+    private static List<ChunkPos> orderByDistance(Collection<ChunkPos> chunks, @Nullable ChunkPos origin) {
+        List<ChunkPos> ordered = new ArrayList<>(new LinkedHashSet<>(chunks));
+        if (ordered.isEmpty()) return ordered;
+        ChunkPos center = origin != null ? origin : center(ordered);
+        ordered.sort(Comparator.comparingLong(center::distanceSquared));
+        return ordered;
+    }
+
+    private static ChunkPos center(List<ChunkPos> chunks) {
+        long x = 0;
+        long z = 0;
+        for (ChunkPos pos : chunks) {
+            x += pos.getX();
+            z += pos.getZ();
+        }
+        return new ChunkPos((int) (x / chunks.size()), (int) (z / chunks.size()));
+    }
+
+    private static List<Chunk> collect(Collection<ChunkPos> chunks, Map<ChunkPos, Chunk> loaded) {
+        List<Chunk> result = new ArrayList<>(chunks.size());
+        for (ChunkPos pos : chunks) {
+            result.add(loaded.get(pos));
+        }
+        return result;
+    }
+}
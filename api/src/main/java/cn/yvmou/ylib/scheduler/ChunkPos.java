@@ -0,0 +1,73 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 区块坐标
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class ChunkPos {
+
+    private final int x;
+    private final int z;
+
+    /**
+     * 构造函数
+     * @param x 区块 X 坐标
+     * @param z 区块 Z 坐标
+     */
+    public ChunkPos(int x, int z) {
+        this.x = x;
+        this.z = z;
+    }
+
+    /**
+     * 获取位置所在的区块坐标
+     * @param location 位置
+     * @return ChunkPos 区块坐标
+     */
+    @NotNull
+    public static ChunkPos of(@NotNull Location location) {
+        return new ChunkPos(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    /**
+     * 与另一个区块坐标的距离平方（区块为单位）
+     * @param other 另一个区块坐标
+     * @return long 距离平方
+     */
+    public long distanceSquared(@NotNull ChunkPos other) {
+        long dx = x - other.x;
+        long dz = z - other.z;
+        return dx * dx + dz * dz;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChunkPos)) return false;
+        ChunkPos other = (ChunkPos) o;
+        return x == other.x && z == other.z;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * x + z;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkPos{" + x + ", " + z + "}";
+    }
+}
@@ -0,0 +1,405 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 防抖与节流 - 按键合并频繁触发的操作
+ * <p>
+ * "事件停止 10 tick 后重算"、"玩家数据最多每 5 秒保存一次"通常通过取消再重新调度 {@link UniversalTask} 实现，
+ * 每次触发都会创建和取消一个平台任务。本类把所有键的计时器放在同一个 {@link TimingWheel} 中，
+ * 重复触发只更新键的截止时间和待执行的任务，不创建新任务（截止时间提前时才重新挂入时间轮）。
+ * {@code long} 键存放在原始类型的开放寻址表中，不装箱：
+ * </p>
+ * <ul>
+ *     <li>{@link #debounce(Object, long, Runnable)}：最后一次触发后经过 delay tick 才执行一次（尾沿）。</li>
+ *     <li>{@link #throttle(Object, long, Runnable)}：首次触发在下一 tick 执行，之后每个周期最多执行一次；
+ *     周期内的后续触发合并为周期结束时执行的最后一次，不会丢失最新的状态。</li>
+ * </ul>
+ * <p>
+ * 任务在时间轮的 {@link SchedulerContext} 中执行：{@code SchedulerContext.async()} 得到异步版本，
+ * Folia 上 {@code SchedulerContext.at(location)} 得到区域版本。
+ * </p>
+ *
+ * <pre>{@code
+ * Debouncer saves = new Debouncer(plugin, scheduler, SchedulerContext.async());
+ * saves.throttle(player.getUniqueId(), 100, () -> repository.save(data));
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class Debouncer {
+
+    private final TimingWheel wheel;
+    private final boolean ownsWheel;
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    // long 键，访问时以自身为锁
+    private final LongEntryMap longEntries = new LongEntryMap();
+
+    /**
+     * 构造函数，创建专用的时间轮
+     * @param plugin 插件实例
+     * @param scheduler 底层调度器
+     * @param context 执行上下文
+     */
+    public Debouncer(@NotNull Plugin plugin, @NotNull UniversalScheduler scheduler, @NotNull SchedulerContext context) {
+        this.wheel = new TimingWheel(plugin, scheduler, context);
+        this.ownsWheel = true;
+    }
+
+    /**
+     * 构造函数，共享已有的时间轮
+     * @param wheel 时间轮（任务在其上下文中执行）
+     */
+    public Debouncer(@NotNull TimingWheel wheel) {
+        this.wheel = wheel;
+        this.ownsWheel = false;
+    }
+
+    /**
+     * 防抖：最后一次调用后经过 delay tick 执行最后一次传入的任务
+     * @param key 键
+     * @param delay 静默时间（tick）
+     * @param runnable 要执行的任务
+     */
+    public void debounce(@NotNull Object key, long delay, @NotNull Runnable runnable) {
+        long quiet = UniversalScheduler.clampDelay(delay);
+        entries.compute(key, (k, entry) -> debounced(entry != null ? entry : new Entry(k, 0, false, quiet), quiet, runnable));
+    }
+
+    /**
+     * 防抖（long 键，不装箱）
+     * @see #debounce(Object, long, Runnable)
+     */
+    public void debounce(long key, long delay, @NotNull Runnable runnable) {
+        long quiet = UniversalScheduler.clampDelay(delay);
+        synchronized (longEntries) {
+            Entry entry = longEntries.get(key);
+            longEntries.put(key, debounced(entry != null ? entry : new Entry(null, key, false, quiet), quiet, runnable));
+        }
+    }
+
+    /**
+     * 防抖（UUID 键）
+     * @see #debounce(Object, long, Runnable)
+     */
+    public void debounce(@NotNull UUID key, long delay, @NotNull Runnable runnable) {
+        debounce((Object) key, delay, runnable);
+    }
+
+    /**
+     * 节流：每个周期最多执行一次
+     * @param key 键
+     * @param period 周期（tick）
+     * @param runnable 要执行的任务
+     * @return boolean 本次调用开启了新周期返回 true；合并到当前周期末尾执行返回 false
+     */
+    public boolean throttle(@NotNull Object key, long period, @NotNull Runnable runnable) {
+        long window = UniversalScheduler.clampDelay(period);
+        boolean[] opened = new boolean[1];
+        entries.compute(key, (k, entry) -> {
+            opened[0] = entry == null;
+            return throttled(entry != null ? entry : new Entry(k, 0, true, window), runnable);
+        });
+        return opened[0];
+    }
+
+    /**
+     * 节流（long 键，不装箱）
+     * @see #throttle(Object, long, Runnable)
+     */
+    public boolean throttle(long key, long period, @NotNull Runnable runnable) {
+        long window = UniversalScheduler.clampDelay(period);
+        synchronized (longEntries) {
+            Entry entry = longEntries.get(key);
+            longEntries.put(key, throttled(entry != null ? entry : new Entry(null, key, true, window), runnable));
+            return entry == null;
+        }
+    }
+
+    /**
+     * 节流（UUID 键）
+     * @see #throttle(Object, long, Runnable)
+     */
+    public boolean throttle(@NotNull UUID key, long period, @NotNull Runnable runnable) {
+        return throttle((Object) key, period, runnable);
+    }
+
+    /**
+     * 取消键上尚未执行的任务
+     * @param key 键
+     * @return boolean 存在未执行的任务返回 true
+     */
+    public boolean cancel(@NotNull Object key) {
+        return cancelled(entries.remove(key));
+    }
+
+    /**
+     * 取消 long 键上尚未执行的任务
+     * @param key 键
+     * @return boolean 存在未执行的任务返回 true
+     */
+    public boolean cancel(long key) {
+        Entry entry;
+        synchronized (longEntries) {
+            entry = longEntries.remove(key);
+        }
+        return cancelled(entry);
+    }
+
+    /**
+     * 获取当前有计时器的键数量
+     */
+    public int size() {
+        synchronized (longEntries) {
+            return entries.size() + longEntries.size();
+        }
+    }
+
+    /**
+     * 获取使用的时间轮
+     */
+    @NotNull
+    public TimingWheel getWheel() {
+        return wheel;
+    }
+
+    /**
+     * 关闭：取消所有尚未执行的任务；专用时间轮一并关闭
+     */
+    public void close() {
+        for (Object key : entries.keySet()) {
+            cancel(key);
+        }
+        Entry[] removed;
+        synchronized (longEntries) {
+            removed = longEntries.clear();
+        }
+        for (Entry entry : removed) {
+            cancelled(entry);
+        }
+        if (ownsWheel) {
+            wheel.close();
+        }
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    /**
+     * 更新防抖状态（调用方持有该键的锁）
+     */
+    private Entry debounced(Entry entry, long quiet, Runnable runnable) {
+        long deadline = wheel.getCurrentTick() + quiet;
+        if (entry.timer == null || deadline < entry.timerDeadline) {
+            // 新键，或本次静默时间比已挂入的计时器短：计时器必须提前
+            UniversalTask previous = entry.timer;
+            if (previous != null) {
+                previous.cancel();
+            }
+            entry.timer = wheel.schedule(entry::fire, quiet);
+            entry.timerDeadline = deadline;
+        }
+        // 截止时间推后时只更新截止时间，计时器到期后按剩余时间重新挂入
+        entry.deadline = deadline;
+        entry.runnable = runnable;
+        return entry;
+    }
+
+    /**
+     * 更新节流状态（调用方持有该键的锁）
+     */
+    private Entry throttled(Entry entry, Runnable runnable) {
+        if (entry.timer == null) {
+            entry.timer = wheel.schedule(entry::fire, 1);
+        }
+        entry.runnable = runnable;
+        return entry;
+    }
+
+    private static boolean cancelled(Entry entry) {
+        if (entry == null) return false;
+        UniversalTask timer = entry.timer;
+        if (timer != null) {
+            timer.cancel();
+        }
+        return entry.runnable != null;
+    }
+
+    /**
+     * 单个键的计时状态，字段在持有该键的锁（{@code entries.compute} 或 {@code longEntries}）时修改
+     */
+    private final class Entry {
+        // 为 null 时使用 longKey
+        final Object key;
+        final long longKey;
+        final boolean throttle;
+        final long interval;
+        long deadline;
+        // 当前计时器的到期 tick
+        long timerDeadline;
+        Runnable runnable;
+        volatile UniversalTask timer;
+        // 只在计时器到期时使用
+        private Runnable due;
+
+        Entry(Object key, long longKey, boolean throttle, long interval) {
+            this.key = key;
+            this.longKey = longKey;
+            this.throttle = throttle;
+            this.interval = interval;
+        }
+
+        /**
+         * 计时器到期（时间轮线程）
+         */
+        void fire() {
+            due = null;
+            if (key != null) {
+                entries.computeIfPresent(key, (k, entry) -> entry == this ? expire() : entry);
+            } else {
+                synchronized (longEntries) {
+                    if (longEntries.get(longKey) == this && expire() == null) {
+                        longEntries.remove(longKey);
+                    }
+                }
+            }
+            Runnable action = due;
+            due = null;
+            if (action != null) {
+                action.run();
+            }
+        }
+
+        /**
+         * 计时器到期时更新状态，返回 null 表示移除该键
+         */
+        private Entry expire() {
+            long now = wheel.getCurrentTick();
+            if (throttle) {
+                if (runnable == null) return null;
+                // 执行本周期的任务并开启下一个周期
+                due = runnable;
+                runnable = null;
+                timer = wheel.schedule(this::fire, interval);
+                return this;
+            }
+            long remaining = deadline - now;
+            if (remaining > 0) {
+                timer = wheel.schedule(this::fire, remaining);
+                timerDeadline = deadline;
+                return this;
+            }
+            due = runnable;
+            return null;
+        }
+    }
+
+    /**
+     * long 键到 Entry 的开放寻址表（线性探测，删除时回移），由调用方加锁
+     */
+    private static final class LongEntryMap {
+        private long[] keys = new long[16];
+        private Entry[] values = new Entry[16];
+        private int size;
+
+        Entry get(long key) {
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        void put(long key, Entry value) {
+            int mask = keys.length - 1;
+            int index = slot(key, mask);
+            while (values[index] != null) {
+                if (keys[index] == key) {
+                    values[index] = value;
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+        }
+
+        Entry remove(long key) {
+            int index = indexOf(key);
+            if (index < 0) return null;
+            Entry removed = values[index];
+            int mask = keys.length - 1;
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (values[next] != null) {
+                // 探测链上的元素若可以放在空位上（空位位于其起始槽与当前位置之间），回移填补空位
+                int home = slot(keys[next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            values[hole] = null;
+            size--;
+            return removed;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * 清空并返回原有的值
+         */
+        Entry[] clear() {
+            Entry[] removed = new Entry[size];
+            int count = 0;
+            for (Entry value : values) {
+                if (value != null) removed[count++] = value;
+            }
+            keys = new long[16];
+            values = new Entry[16];
+            size = 0;
+            return removed;
+        }
+
+        private int indexOf(long key) {
+            int mask = keys.length - 1;
+            int index = slot(key, mask);
+            while (values[index] != null) {
+                if (keys[index] == key) return index;
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Entry[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Entry[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
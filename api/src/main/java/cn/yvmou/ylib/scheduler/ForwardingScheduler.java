@@ -0,0 +1,360 @@
+package cn.yvmou.ylib.scheduler;
+
+import cn.yvmou.ylib.scheduler.UniversalTask.TaskType;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 转发调度器 - 把所有调用转发给被包装的调度器，供调度器装饰器继承
+ * <p>
+ * 子类通过 {@link #decorate(Plugin, Runnable, TaskType)} 在调度前包装任务，
+ * 通过 {@link #onScheduled(Plugin, Runnable, UniversalTask)} 在调度后处理返回的任务句柄。
+ * 平台相关的默认方法（归属判断、批量执行、实体执行器等）一律转发，保证装饰后的行为与平台实现一致。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public abstract class ForwardingScheduler implements UniversalScheduler {
+
+    protected final UniversalScheduler delegate;
+
+    /**
+     * 构造函数
+     * @param delegate 被包装的调度器
+     */
+    protected ForwardingScheduler(@NotNull UniversalScheduler delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 获取被包装的调度器
+     */
+    @NotNull
+    public UniversalScheduler getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 调度前包装任务，默认原样返回
+     * <p>
+     * 通过执行器提交的任务可能是 {@link java.util.concurrent.Future}：包装结果应同样实现 Future 并把取消转发给原任务，
+     * 否则实体被移除时平台的 {@link UniversalScheduler#rejectRetired} 无法结束它，等待方会一直挂起。
+     * </p>
+     * @param plugin 调用方指定的插件，未指定时为 null
+     * @param runnable 要执行的任务
+     * @param type 任务类型；通过执行器提交、没有任务句柄时为 null
+     * @return Runnable 实际交给被包装调度器的任务
+     */
+    protected Runnable decorate(@Nullable Plugin plugin, @NotNull Runnable runnable, @Nullable TaskType type) {
+        return runnable;
+    }
+
+    /**
+     * 调度后处理任务句柄，默认原样返回
+     * @param plugin 调用方指定的插件，未指定时为 null
+     * @param decorated {@link #decorate} 返回的任务
+     * @param task 被包装调度器返回的句柄
+     * @return UniversalTask 返回给调用方的句柄
+     */
+    protected UniversalTask onScheduled(@Nullable Plugin plugin, @NotNull Runnable decorated, UniversalTask task) {
+        return task;
+    }
+
+    @Override
+    public boolean isFolia() {
+        return delegate.isFolia();
+    }
+
+    @Override
+    public UniversalTask runTask(@NotNull Runnable runnable) {
+        Runnable decorated = decorate(null, runnable, TaskType.SYNC);
+        return onScheduled(null, decorated, delegate.runTask(decorated));
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, @NotNull Runnable runnable) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.SYNC);
+        return onScheduled(plugin, decorated, delegate.runTask(plugin, decorated));
+    }
+
+    @Override
+    public UniversalTask runTask(Location location, @NotNull Runnable runnable) {
+        Runnable decorated = decorate(null, runnable, TaskType.SYNC);
+        return onScheduled(null, decorated, delegate.runTask(location, decorated));
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, Location location, @NotNull Runnable runnable) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.SYNC);
+        return onScheduled(plugin, decorated, delegate.runTask(plugin, location, decorated));
+    }
+
+    @Override
+    public UniversalTask runTask(Entity entity, @NotNull Runnable runnable) {
+        Runnable decorated = decorate(null, runnable, TaskType.SYNC);
+        return onScheduled(null, decorated, delegate.runTask(entity, decorated));
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, Entity entity, @NotNull Runnable runnable) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.SYNC);
+        return onScheduled(plugin, decorated, delegate.runTask(plugin, entity, decorated));
+    }
+
+    @Override
+    public UniversalTask runTask(Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired) {
+        Runnable decorated = decorate(null, runnable, TaskType.SYNC);
+        return onScheduled(null, decorated, delegate.runTask(entity, decorated, retired));
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.SYNC);
+        return onScheduled(plugin, decorated, delegate.runTask(plugin, entity, decorated, retired));
+    }
+
+    @Override
+    public UniversalTask runLater(@NotNull Runnable runnable, long delay) {
+        Runnable decorated = decorate(null, runnable, TaskType.SYNC);
+        return onScheduled(null, decorated, delegate.runLater(decorated, delay));
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, @NotNull Runnable runnable, long delay) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.SYNC);
+        return onScheduled(plugin, decorated, delegate.runLater(plugin, decorated, delay));
+    }
+
+    @Override
+    public UniversalTask runLater(Location location, @NotNull Runnable runnable, long delay) {
+        Runnable decorated = decorate(null, runnable, TaskType.SYNC);
+        return onScheduled(null, decorated, delegate.runLater(location, decorated, delay));
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, Location location, @NotNull Runnable runnable, long delay) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.SYNC);
+        return onScheduled(plugin, decorated, delegate.runLater(plugin, location, decorated, delay));
+    }
+
+    @Override
+    public UniversalTask runLater(Entity entity, @NotNull Runnable runnable, long delay) {
+        Runnable decorated = decorate(null, runnable, TaskType.SYNC);
+        return onScheduled(null, decorated, delegate.runLater(entity, decorated, delay));
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, Entity entity, @NotNull Runnable runnable, long delay) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.SYNC);
+        return onScheduled(plugin, decorated, delegate.runLater(plugin, entity, decorated, delay));
+    }
+
+    @Override
+    public UniversalTask runLater(Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired, long delay) {
+        Runnable decorated = decorate(null, runnable, TaskType.SYNC);
+        return onScheduled(null, decorated, delegate.runLater(entity, decorated, retired, delay));
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired, long delay) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.SYNC);
+        return onScheduled(plugin, decorated, delegate.runLater(plugin, entity, decorated, retired, delay));
+    }
+
+    @Override
+    public UniversalTask runTimer(@NotNull Runnable runnable, long delay, long period) {
+        Runnable decorated = decorate(null, runnable, TaskType.REPEATING);
+        return onScheduled(null, decorated, delegate.runTimer(decorated, delay, period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Plugin plugin, @NotNull Runnable runnable, long delay, long period) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.REPEATING);
+        return onScheduled(plugin, decorated, delegate.runTimer(plugin, decorated, delay, period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Location location, @NotNull Runnable runnable, long delay, long period) {
+        Runnable decorated = decorate(null, runnable, TaskType.REPEATING);
+        return onScheduled(null, decorated, delegate.runTimer(location, decorated, delay, period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Plugin plugin, Location location, @NotNull Runnable runnable, long delay, long period) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.REPEATING);
+        return onScheduled(plugin, decorated, delegate.runTimer(plugin, location, decorated, delay, period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Entity entity, @NotNull Runnable runnable, long delay, @Nullable Runnable retired, long period) {
+        Runnable decorated = decorate(null, runnable, TaskType.REPEATING);
+        return onScheduled(null, decorated, delegate.runTimer(entity, decorated, delay, retired, period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Plugin plugin, Entity entity, @NotNull Runnable runnable, long delay, @Nullable Runnable retired, long period) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.REPEATING);
+        return onScheduled(plugin, decorated, delegate.runTimer(plugin, entity, decorated, delay, retired, period));
+    }
+
+    @Override
+    public UniversalTask runAsync(@NotNull Runnable runnable) {
+        Runnable decorated = decorate(null, runnable, TaskType.ASYNC);
+        return onScheduled(null, decorated, delegate.runAsync(decorated));
+    }
+
+    @Override
+    public UniversalTask runAsync(Plugin plugin, @NotNull Runnable runnable) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.ASYNC);
+        return onScheduled(plugin, decorated, delegate.runAsync(plugin, decorated));
+    }
+
+    @Override
+    public UniversalTask runLaterAsync(@NotNull Runnable runnable, long delay) {
+        Runnable decorated = decorate(null, runnable, TaskType.ASYNC);
+        return onScheduled(null, decorated, delegate.runLaterAsync(decorated, delay));
+    }
+
+    @Override
+    public UniversalTask runLaterAsync(Plugin plugin, @NotNull Runnable runnable, long delay) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.ASYNC);
+        return onScheduled(plugin, decorated, delegate.runLaterAsync(plugin, decorated, delay));
+    }
+
+    @Override
+    public UniversalTask runTimerAsync(@NotNull Runnable runnable, long delay, long period) {
+        Runnable decorated = decorate(null, runnable, TaskType.REPEATING);
+        return onScheduled(null, decorated, delegate.runTimerAsync(decorated, delay, period));
+    }
+
+    @Override
+    public UniversalTask runTimerAsync(Plugin plugin, @NotNull Runnable runnable, long delay, long period) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.REPEATING);
+        return onScheduled(plugin, decorated, delegate.runTimerAsync(plugin, decorated, delay, period));
+    }
+
+    @NotNull
+    @Override
+    public AsyncPool asyncPool(@NotNull String name, int maxThreads, int queueCapacity, @NotNull AsyncPool.RejectionPolicy rejectionPolicy) {
+        return delegate.asyncPool(name, maxThreads, queueCapacity, rejectionPolicy);
+    }
+
+    @Override
+    public UniversalTask runAsync(@NotNull AsyncPool pool, Plugin plugin, @NotNull Runnable runnable) {
+        Runnable decorated = decorate(plugin, runnable, TaskType.ASYNC);
+        return onScheduled(plugin, decorated, delegate.runAsync(pool, plugin, decorated));
+    }
+
+    @Override
+    public void cancelAllTasks(Plugin plugin) {
+        delegate.cancelAllTasks(plugin);
+    }
+
+    @Override
+    public void cancelTask(UniversalTask universalTask) {
+        delegate.cancelTask(universalTask);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> teleportAsync(Entity entity, Location location) {
+        return delegate.teleportAsync(entity, location);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        return delegate.getStatistics();
+    }
+
+    @Override
+    public List<UniversalTask> activeTasks() {
+        return delegate.activeTasks();
+    }
+
+    @Override
+    public List<UniversalTask> activeTasks(@NotNull Plugin plugin) {
+        return delegate.activeTasks(plugin);
+    }
+
+    @Override
+    public Map<TaskType, Integer> countByType() {
+        return delegate.countByType();
+    }
+
+    @Override
+    public CompletableFuture<List<Chunk>> loadChunksAsync(@NotNull World world, @NotNull Collection<ChunkPos> chunks, @Nullable ChunkPos origin) {
+        return delegate.loadChunksAsync(world, chunks, origin);
+    }
+
+    @Override
+    public double getTickTimeMillis() {
+        return delegate.getTickTimeMillis();
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return delegate.isGlobalThread();
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(@NotNull Location location) {
+        return delegate.isOwnedByCurrentRegion(location);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(@NotNull Entity entity) {
+        return delegate.isOwnedByCurrentRegion(entity);
+    }
+
+    @Override
+    public <E extends Entity> CompletableFuture<Void> forEachEntity(@NotNull Collection<? extends E> entities, @NotNull Consumer<? super E> action) {
+        return delegate.forEachEntity(entities, action);
+    }
+
+    @Override
+    public CompletableFuture<Void> forEachLocation(@NotNull Collection<? extends Location> locations, @NotNull Consumer<? super Location> action) {
+        return delegate.forEachLocation(locations, action);
+    }
+
+    @Override
+    public Executor asyncExecutor() {
+        Executor executor = delegate.asyncExecutor();
+        return runnable -> executor.execute(decorate(null, runnable, null));
+    }
+
+    @Override
+    public Executor globalExecutor() {
+        Executor executor = delegate.globalExecutor();
+        return runnable -> executor.execute(decorate(null, runnable, null));
+    }
+
+    @Override
+    public Executor regionExecutor(@NotNull Location location) {
+        Executor executor = delegate.regionExecutor(location);
+        return runnable -> executor.execute(decorate(null, runnable, null));
+    }
+
+    @Override
+    public Executor entityExecutor(@NotNull Entity entity) {
+        Executor executor = delegate.entityExecutor(entity);
+        return runnable -> executor.execute(decorate(null, runnable, null));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> supplyFor(@NotNull Entity entity, @NotNull Supplier<T> supplier) {
+        return delegate.supplyFor(entity, supplier);
+    }
+}
@@ -0,0 +1,51 @@
+package cn.yvmou.ylib.scheduler;
+
+import cn.yvmou.ylib.scheduler.UniversalTask.TaskType;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 带执行统计的调度器装饰器
+ * <p>
+ * 启用 {@link SchedulerOptions#statistics(boolean)} 时由 YLib 包装平台调度器，
+ * 每个任务在调度时经 {@link TaskStatistics#wrap(Plugin, Runnable)} 包装一次；未启用时不创建本类。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class InstrumentedScheduler extends ForwardingScheduler {
+
+    private final TaskStatistics statistics;
+
+    /**
+     * 构造函数
+     * @param delegate 平台调度器
+     * @param statistics 统计记录器
+     */
+    public InstrumentedScheduler(@NotNull UniversalScheduler delegate, @NotNull TaskStatistics statistics) {
+        super(delegate);
+        this.statistics = statistics;
+    }
+
+    @Override
+    protected Runnable decorate(@Nullable Plugin plugin, @NotNull Runnable runnable, @Nullable TaskType type) {
+        return statistics.wrap(plugin, runnable);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> supplyFor(@NotNull Entity entity, @NotNull Supplier<T> supplier) {
+        return delegate.supplyFor(entity, statistics.wrap(null, supplier));
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        return statistics.getStatistics();
+    }
+}
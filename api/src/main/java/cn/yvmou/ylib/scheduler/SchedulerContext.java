@@ -0,0 +1,187 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 调度上下文 - 描述任务应在"哪里"执行
+ * <p>
+ * 对应 {@link UniversalScheduler} 的几组重载：全局、基于位置、基于实体、异步。
+ * 供需要反复在同一上下文调度任务的组件（如 {@link BudgetedExecutor}）保存与复用。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class SchedulerContext {
+
+    private static final SchedulerContext GLOBAL = new SchedulerContext(Kind.GLOBAL, null, null);
+    private static final SchedulerContext ASYNC = new SchedulerContext(Kind.ASYNC, null, null);
+
+    private final Kind kind;
+    private final Location location;
+    private final Entity entity;
+
+    private SchedulerContext(Kind kind, Location location, Entity entity) {
+        this.kind = kind;
+        this.location = location;
+        this.entity = entity;
+    }
+
+    /**
+     * 全局上下文（Spigot/Paper 主线程，Folia 全局区域）
+     */
+    @NotNull
+    public static SchedulerContext global() {
+        return GLOBAL;
+    }
+
+    /**
+     * 异步上下文
+     */
+    @NotNull
+    public static SchedulerContext async() {
+        return ASYNC;
+    }
+
+    /**
+     * 位置所在区域的上下文
+     * @param location 位置
+     */
+    @NotNull
+    public static SchedulerContext at(@NotNull Location location) {
+        return new SchedulerContext(Kind.LOCATION, location.clone(), null);
+    }
+
+    /**
+     * 实体所在区域的上下文（跟随实体移动）
+     * @param entity 实体
+     */
+    @NotNull
+    public static SchedulerContext of(@NotNull Entity entity) {
+        return new SchedulerContext(Kind.ENTITY, null, entity);
+    }
+
+    @NotNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isAsync() {
+        return kind == Kind.ASYNC;
+    }
+
+    @Nullable
+    public Location getLocation() {
+        return location;
+    }
+
+    @Nullable
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * 在该上下文中运行任务
+     */
+    public UniversalTask runTask(@NotNull UniversalScheduler scheduler, @NotNull Plugin plugin, @NotNull Runnable runnable) {
+        return runTask(scheduler, plugin, runnable, null);
+    }
+
+    /**
+     * 在该上下文中运行任务
+     * @param retired 实体上下文的实体被移除时调用（其他上下文忽略）
+     */
+    public UniversalTask runTask(@NotNull UniversalScheduler scheduler, @NotNull Plugin plugin, @NotNull Runnable runnable,
+                                 @Nullable Runnable retired) {
+        switch (kind) {
+            case LOCATION:
+                return scheduler.runTask(plugin, location, runnable);
+            case ENTITY:
+                return scheduler.runTask(plugin, entity, runnable, retired);
+            case ASYNC:
+                return scheduler.runAsync(plugin, runnable);
+            default:
+                return scheduler.runTask(plugin, runnable);
+        }
+    }
+
+    /**
+     * 在该上下文中延迟运行任务
+     */
+    public UniversalTask runLater(@NotNull UniversalScheduler scheduler, @NotNull Plugin plugin, @NotNull Runnable runnable, long delay) {
+        return runLater(scheduler, plugin, runnable, null, delay);
+    }
+
+    /**
+     * 在该上下文中延迟运行任务
+     * @param retired 实体上下文的实体被移除时调用（其他上下文忽略）
+     */
+    public UniversalTask runLater(@NotNull UniversalScheduler scheduler, @NotNull Plugin plugin, @NotNull Runnable runnable,
+                                  @Nullable Runnable retired, long delay) {
+        switch (kind) {
+            case LOCATION:
+                return scheduler.runLater(plugin, location, runnable, delay);
+            case ENTITY:
+                return scheduler.runLater(plugin, entity, runnable, retired, delay);
+            case ASYNC:
+                return scheduler.runLaterAsync(plugin, runnable, delay);
+            default:
+                return scheduler.runLater(plugin, runnable, delay);
+        }
+    }
+
+    /**
+     * 在该上下文中运行定时任务
+     */
+    public UniversalTask runTimer(@NotNull UniversalScheduler scheduler, @NotNull Plugin plugin, @NotNull Runnable runnable, long delay, long period) {
+        return runTimer(scheduler, plugin, runnable, delay, null, period);
+    }
+
+    /**
+     * 在该上下文中运行定时任务
+     * @param retired 实体上下文的实体被移除时调用（其他上下文忽略）
+     */
+    public UniversalTask runTimer(@NotNull UniversalScheduler scheduler, @NotNull Plugin plugin, @NotNull Runnable runnable, long delay,
+                                  @Nullable Runnable retired, long period) {
+        switch (kind) {
+            case LOCATION:
+                return scheduler.runTimer(plugin, location, runnable, delay, period);
+            case ENTITY:
+                return scheduler.runTimer(plugin, entity, runnable, delay, retired, period);
+            case ASYNC:
+                return scheduler.runTimerAsync(plugin, runnable, delay, period);
+            default:
+                return scheduler.runTimer(plugin, runnable, delay, period);
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case LOCATION:
+                return "SchedulerContext{location=" + location + "}";
+            case ENTITY:
+                return "SchedulerContext{entity=" + entity.getUniqueId() + "}";
+            default:
+                return "SchedulerContext{" + kind + "}";
+        }
+    }
+
+    /**
+     * 上下文类型
+     */
+    public enum Kind {
+        /** 全局 */
+        GLOBAL,
+        /** 基于位置 */
+        LOCATION,
+        /** 基于实体 */
+        ENTITY,
+        /** 异步 */
+        ASYNC
+    }
+}
@@ -0,0 +1,104 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 调度器选项 - 在创建调度器时传给 {@link UniversalSchedulerProvider#create(org.bukkit.plugin.Plugin, SchedulerOptions)}
+ *
+ * <pre>{@code
+ * YLib.getYLib().setSchedulerOptions(new SchedulerOptions()
+ *         .asyncBackend(SchedulerOptions.AsyncBackend.VIRTUAL_THREADS)
+ *         .maxAsyncConcurrency(32));
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class SchedulerOptions {
+
+    /** 默认每插件异步并发上限 */
+    public static final int DEFAULT_MAX_ASYNC_CONCURRENCY = 64;
+    /** 默认任务超时警告阈值（毫秒），一个 tick 的时长 */
+    public static final long DEFAULT_OVERRUN_THRESHOLD_MILLIS = 50L;
+
+    private AsyncBackend asyncBackend = AsyncBackend.SERVER;
+    private int maxAsyncConcurrency = DEFAULT_MAX_ASYNC_CONCURRENCY;
+    private boolean statistics;
+    private long overrunThresholdMillis = DEFAULT_OVERRUN_THRESHOLD_MILLIS;
+
+    /**
+     * 设置 {@code runAsync} 使用的异步后端
+     * @param asyncBackend 异步后端
+     * @return this
+     */
+    public SchedulerOptions asyncBackend(@NotNull AsyncBackend asyncBackend) {
+        this.asyncBackend = asyncBackend;
+        return this;
+    }
+
+    /**
+     * 设置每个插件同时运行的异步任务上限（仅对 {@link AsyncBackend#BOUNDED_POOL} 和
+     * {@link AsyncBackend#VIRTUAL_THREADS} 生效），超出的任务排队等待
+     * @param maxAsyncConcurrency 并发上限
+     * @return this
+     */
+    public SchedulerOptions maxAsyncConcurrency(int maxAsyncConcurrency) {
+        if (maxAsyncConcurrency <= 0) {
+            throw new IllegalArgumentException("maxAsyncConcurrency must be positive: " + maxAsyncConcurrency);
+        }
+        this.maxAsyncConcurrency = maxAsyncConcurrency;
+        return this;
+    }
+
+    /**
+     * 启用任务执行统计（次数、耗时、超时警告与栈采样），见 {@link TaskStatistics}
+     * @param statistics 是否启用
+     * @return this
+     */
+    public SchedulerOptions statistics(boolean statistics) {
+        this.statistics = statistics;
+        return this;
+    }
+
+    /**
+     * 设置任务超时警告阈值，执行时间超过该值的任务会通过 YLib Logger 输出警告
+     * @param overrunThresholdMillis 阈值（毫秒）
+     * @return this
+     */
+    public SchedulerOptions overrunThreshold(long overrunThresholdMillis) {
+        if (overrunThresholdMillis <= 0) {
+            throw new IllegalArgumentException("overrunThreshold must be positive: " + overrunThresholdMillis);
+        }
+        this.overrunThresholdMillis = overrunThresholdMillis;
+        return this;
+    }
+
+    @NotNull
+    public AsyncBackend getAsyncBackend() {
+        return asyncBackend;
+    }
+
+    public int getMaxAsyncConcurrency() {
+        return maxAsyncConcurrency;
+    }
+
+    public boolean isStatistics() {
+        return statistics;
+    }
+
+    public long getOverrunThresholdMillis() {
+        return overrunThresholdMillis;
+    }
+
+    /**
+     * 异步任务后端
+     */
+    public enum AsyncBackend {
+        /** 服务端自带的异步调度器（Bukkit 无界缓存线程池 / Folia AsyncScheduler），默认值 */
+        SERVER,
+        /** 有界平台线程池，线程数等于并发上限 */
+        BOUNDED_POOL,
+        /** Java 21+ 使用虚拟线程，低版本 JVM 自动回退到 {@link #BOUNDED_POOL} */
+        VIRTUAL_THREADS
+    }
+}
@@ -0,0 +1,260 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * 分片周期任务 - 把"每 N tick 处理一遍全部元素"均摊到 N 个 tick
+ * <p>
+ * 按 UUID 的稳定哈希把元素分到 {@code period} 个分片，每 tick 只处理一个分片。
+ * 每个元素仍然每个周期处理一次，但单 tick 的开销从"全部元素"降为约 1/period。
+ * </p>
+ * 元素有两种来源：
+ * <ul>
+ *     <li>托管：通过 {@link #add} / {@link #remove} 维护，元素直接放入所属分片，可在任意线程调用，
+ *     每 tick 只访问当前分片。</li>
+ *     <li>源集合：每个周期开始时读取一次源集合并重建分片，周期内新加入的元素从下一个周期开始处理，
+ *     已离开的元素在本周期内仍可能被处理一次（已失效的实体会被跳过）。
+ *     源集合在驱动线程（Folia 上为全局线程）上迭代，Folia 上必须支持并发迭代，否则使用托管方式。</li>
+ * </ul>
+ * <ul>
+ *     <li>同一元素总是落在同一分片，两次处理的间隔固定为一个周期。</li>
+ *     <li>Folia 上实体分片通过 {@link UniversalScheduler#forEachEntity} 按区域分组执行；
+ *     非实体元素在全局上下文中执行。</li>
+ * </ul>
+ *
+ * @param <T> 元素类型
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class ShardedTask<T> implements UniversalTask {
+
+    private final UniversalScheduler scheduler;
+    // 为 null 时使用托管分片
+    private final Collection<? extends T> source;
+    private final Set<T>[] buckets;
+    private final Function<? super T, UUID> keyFunction;
+    private final Consumer<? super T> action;
+    private final int period;
+    private final boolean entities;
+
+    // 只由驱动任务所在线程访问
+    private int cursor;
+    private List<T>[] snapshot;
+    private volatile UniversalTask driver;
+
+    private ShardedTask(UniversalScheduler scheduler, Collection<? extends T> source, Function<? super T, UUID> keyFunction,
+                        Consumer<? super T> action, int period, boolean entities) {
+        this.scheduler = scheduler;
+        this.source = source;
+        this.keyFunction = keyFunction;
+        this.action = action;
+        this.period = period;
+        this.entities = entities;
+        this.buckets = source == null ? newBuckets(period) : null;
+    }
+
+    /**
+     * 启动分片任务
+     * @param scheduler 调度器
+     * @param source 元素来源（每个周期读取一次，需支持在驱动线程上迭代），为 null 时通过 {@link #add} 维护
+     * @param keyFunction 元素的 UUID
+     * @param action 对每个元素执行的操作
+     * @param period 周期（tick），即分片数量
+     * @param entities 元素是否为实体（Folia 上需要在实体所在区域执行）
+     * @return ShardedTask 任务句柄
+     */
+    @NotNull
+    static <T> ShardedTask<T> start(@NotNull UniversalScheduler scheduler, @Nullable Collection<? extends T> source,
+                                    @NotNull Function<? super T, UUID> keyFunction, @NotNull Consumer<? super T> action,
+                                    int period, boolean entities) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        ShardedTask<T> task = new ShardedTask<>(scheduler, source, keyFunction, action, period, entities);
+        task.driver = scheduler.runTimer(task::tick, 1, 1);
+        return task;
+    }
+
+    /**
+     * 计算 UUID 所属分片
+     * @param uuid UUID
+     * @param period 分片数量
+     * @return 分片序号，范围 [0, period)
+     */
+    public static int shardOf(@NotNull UUID uuid, int period) {
+        long hash = uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        // 混合高低位，避免非随机 UUID（如离线模式玩家）分布不均
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) period);
+    }
+
+    /**
+     * 获取周期（分片数量）
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * 加入元素（托管方式，可在任意线程调用）
+     * @param element 元素
+     * @return boolean 元素此前不存在返回 true
+     * @throws IllegalStateException 任务从源集合读取元素时
+     */
+    public boolean add(@NotNull T element) {
+        return bucketOf(element).add(element);
+    }
+
+    /**
+     * 移除元素（托管方式，可在任意线程调用）
+     * @param element 元素
+     * @return boolean 元素存在返回 true
+     * @throws IllegalStateException 任务从源集合读取元素时
+     */
+    public boolean remove(@NotNull T element) {
+        return bucketOf(element).remove(element);
+    }
+
+    /**
+     * 获取托管的元素数量
+     * @throws IllegalStateException 任务从源集合读取元素时
+     */
+    public int size() {
+        checkManaged();
+        int size = 0;
+        for (Set<T> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    @Override
+    public Plugin getOwningPlugin() {
+        UniversalTask task = driver;
+        return task == null ? null : task.getOwningPlugin();
+    }
+
+    @Override
+    public void cancel() {
+        UniversalTask task = driver;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        UniversalTask task = driver;
+        return task != null && task.isCancelled();
+    }
+
+    @Override
+    public boolean isCurrentlyRunning() {
+        UniversalTask task = driver;
+        return task != null && task.isCurrentlyRunning();
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.REPEATING;
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    @SuppressWarnings("unchecked")
+    private void tick() {
+        int shard = cursor;
+        cursor = shard + 1 == period ? 0 : shard + 1;
+
+        Collection<T> members;
+        if (buckets != null) {
+            Set<T> bucket = buckets[shard];
+            if (bucket.isEmpty()) return;
+            members = new ArrayList<>(bucket);
+        } else {
+            if (shard == 0 || snapshot == null) {
+                snapshot = rebuild();
+            }
+            members = snapshot[shard];
+            // 每个分片只处理一次，释放引用
+            snapshot[shard] = null;
+            if (members == null) return;
+        }
+
+        if (entities && scheduler.isFolia()) {
+            scheduler.forEachEntity((Collection<? extends Entity>) members, (Consumer<? super Entity>) action)
+                    .whenComplete((ignored, throwable) -> {
+                        if (throwable != null) logFailure(throwable);
+                    });
+            return;
+        }
+        for (T element : members) {
+            if (entities && !((Entity) element).isValid()) continue;
+            try {
+                action.accept(element);
+            } catch (Throwable throwable) {
+                logFailure(throwable);
+            }
+        }
+    }
+
+    /**
+     * 遍历一次源集合，按分片分组
+     */
+    @SuppressWarnings("unchecked")
+    private List<T>[] rebuild() {
+        List<T>[] shards = new List[period];
+        for (T element : source) {
+            int shard = shardOf(keyFunction.apply(element), period);
+            if (shards[shard] == null) shards[shard] = new ArrayList<>();
+            shards[shard].add(element);
+        }
+        return shards;
+    }
+
+    private Set<T> bucketOf(T element) {
+        checkManaged();
+        return buckets[shardOf(keyFunction.apply(element), period)];
+    }
+
+    private void checkManaged() {
+        if (buckets == null) {
+            throw new IllegalStateException("Sharded task reads its elements from a source collection");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Set<T>[] newBuckets(int period) {
+        Set<T>[] buckets = new Set[period];
+        for (int i = 0; i < period; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        return buckets;
+    }
+
+    private void logFailure(Throwable throwable) {
+        Plugin plugin = getOwningPlugin();
+        if (plugin != null) {
+            plugin.getLogger().log(Level.WARNING, "Sharded task threw an exception", throwable);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * 同步信箱 - 异步代码把结果交回主线程（或 Folia 区域/实体线程）的多生产者单消费者队列
+ * <p>
+ * 异步查询完成后调用 {@code runTask} 应用结果，每个结果都会创建一个平台任务。
+ * 信箱只占用一个常驻的每 tick 任务：生产者无锁入队，常驻任务在时间预算内逐个执行，超出预算的留到下一 tick。
+ * </p>
+ * <ul>
+ *     <li>{@link #post(Object, Runnable)} 按键合并：同一个键在执行前多次投递，只执行最后一次投递的任务，
+ *     适合"玩家最新余额"、"全息图最新内容"这类只关心最新值的更新。</li>
+ *     <li>每 tick 至少执行一个任务，保证单个任务超出预算时也能推进。</li>
+ *     <li>Folia 上每个实例绑定一个 {@link SchedulerContext}；绑定实体时，实体被移除后信箱自动关闭，之后的投递抛出异常。</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * SyncMailbox mailbox = new SyncMailbox(plugin, scheduler, SchedulerContext.global(), 1, TimeUnit.MILLISECONDS);
+ * scheduler.runAsync(() -> {
+ *     double balance = database.loadBalance(uuid);
+ *     mailbox.post(uuid, () -> scoreboard.setBalance(uuid, balance));
+ * });
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class SyncMailbox {
+
+    private final Plugin plugin;
+    private final UniversalScheduler scheduler;
+    private final SchedulerContext context;
+    private final long budgetNanos;
+
+    // 元素为 Runnable 或 CoalescedKey
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final Map<Object, Runnable> latest = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile UniversalTask driver;
+    private volatile boolean closed;
+
+    /**
+     * 构造函数（全局上下文）
+     * @param plugin 插件实例
+     * @param scheduler 底层调度器
+     * @param budgetMillis 每 tick 预算（毫秒）
+     */
+    public SyncMailbox(@NotNull Plugin plugin, @NotNull UniversalScheduler scheduler, long budgetMillis) {
+        this(plugin, scheduler, SchedulerContext.global(), budgetMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param scheduler 底层调度器
+     * @param context 执行上下文
+     * @param budget 每 tick 预算
+     * @param unit 预算单位
+     */
+    public SyncMailbox(@NotNull Plugin plugin, @NotNull UniversalScheduler scheduler, @NotNull SchedulerContext context,
+                       long budget, @NotNull TimeUnit unit) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("Budget must be positive: " + budget);
+        }
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.context = context;
+        this.budgetNanos = unit.toNanos(budget);
+    }
+
+    /**
+     * 投递任务，在下一次排空时执行
+     * @param runnable 要执行的任务
+     * @throws IllegalStateException 信箱已关闭（包括绑定的实体已被移除）
+     */
+    public void post(@NotNull Runnable runnable) {
+        checkOpen();
+        pending.incrementAndGet();
+        queue.offer(runnable);
+        ensureStarted();
+        if (closed) {
+            // 与 close 并发或执行上下文已失效：撤回本次投递，未被撤回说明 close 已经清理
+            if (queue.remove(runnable)) {
+                pending.decrementAndGet();
+            }
+            checkOpen();
+        }
+    }
+
+    /**
+     * 按键投递任务：该键尚未执行的任务被替换为本次投递的任务，队列位置保持为首次投递时的位置
+     * @param key 合并键（需正确实现 equals/hashCode）
+     * @param runnable 要执行的任务
+     * @throws IllegalStateException 信箱已关闭（包括绑定的实体已被移除）
+     */
+    public void post(@NotNull Object key, @NotNull Runnable runnable) {
+        checkOpen();
+        CoalescedKey placeholder = null;
+        if (latest.put(key, runnable) == null) {
+            placeholder = new CoalescedKey(key);
+            pending.incrementAndGet();
+            queue.offer(placeholder);
+            ensureStarted();
+        }
+        if (closed) {
+            latest.remove(key, runnable);
+            if (placeholder != null && queue.remove(placeholder)) {
+                pending.decrementAndGet();
+            }
+            checkOpen();
+        }
+    }
+
+    /**
+     * 获取尚未执行的任务数量（同一个键的多次投递计为一个）
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * 获取执行上下文
+     */
+    @NotNull
+    public SchedulerContext getContext() {
+        return context;
+    }
+
+    /**
+     * 关闭信箱：停止常驻任务，丢弃尚未执行的任务
+     */
+    public void close() {
+        closed = true;
+        UniversalTask task = driver;
+        if (task != null) {
+            task.cancel();
+        }
+        // 逐个移除并计数，与并发投递的撤回之间每个元素只计一次
+        while (queue.poll() != null) {
+            pending.decrementAndGet();
+        }
+        latest.clear();
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("SyncMailbox has been closed");
+        }
+    }
+
+    private void ensureStarted() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            UniversalTask task = context.runTimer(scheduler, plugin, this::drain, 1, this::close, 1);
+            driver = task;
+            if (task == null) {
+                // 实体上下文的实体已被移除，常驻任务不会执行
+                close();
+                return;
+            }
+            if (closed) {
+                task.cancel();
+            }
+        }
+        UniversalTask task = driver;
+        if (task != null && task.isCancelled() && !closed) {
+            // 常驻任务已被外部取消（如 cancelAllTasks）或实体已被移除
+            close();
+        }
+    }
+
+    private void drain() {
+        if (closed || pending.get() == 0) return;
+        long deadline = System.nanoTime() + budgetNanos;
+        Object item;
+        while ((item = queue.poll()) != null) {
+            pending.decrementAndGet();
+            Runnable runnable;
+            if (item instanceof CoalescedKey) {
+                // 先移除再执行：执行期间的新投递会重新入队
+                runnable = latest.remove(((CoalescedKey) item).key);
+                if (runnable == null) continue;
+            } else {
+                runnable = (Runnable) item;
+            }
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                plugin.getLogger().log(Level.WARNING, "Mailbox task threw an exception", throwable);
+            }
+            if (closed || System.nanoTime() >= deadline) return;
+        }
+    }
+
+    /**
+     * 队列中代表合并任务的占位元素
+     */
+    private static final class CoalescedKey {
+        final Object key;
+
+        CoalescedKey(Object key) {
+            this.key = key;
+        }
+    }
+}
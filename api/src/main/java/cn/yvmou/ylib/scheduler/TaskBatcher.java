@@ -0,0 +1,405 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * 任务合批器 - 将同一 tick 内提交到同一上下文的大量小任务合并为一个平台任务
+ * <p>
+ * 每次 {@code runTask}/{@code runLater} 都会创建一个 BukkitTask 或 Folia ScheduledTask（分配对象、入队、分配 ID）。
+ * 合批器为每个上下文（全局、区块、实体）维护一个无锁多生产者队列，同一 tick 内的提交只会触发一次平台调度，
+ * 在下一 tick 由该平台任务统一执行；延迟任务按剩余延迟分组，每组只再调度一次。
+ * </p>
+ * <p>
+ * 非 Folia 服务器上所有同步上下文都是主线程，因此全部合并到全局队列。
+ * 实体已被移除时，提交到该实体的任务会被直接取消（与 Folia 实体调度器的行为一致）；
+ * 平台任务排队期间实体被移除时，由 retired 回调取消该队列与延迟分组中的任务，并移除该实体的队列，
+ * 同一 UUID 的实体（如重新进入的玩家）之后提交的任务使用新的队列。
+ * </p>
+ *
+ * <pre>{@code
+ * TaskBatcher batcher = YLib.getYLib().getTaskBatcher();
+ * for (Block block : blocks) {
+ *     batcher.runTask(block.getLocation(), () -> block.setType(Material.AIR));
+ * }
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class TaskBatcher {
+
+    private final Plugin plugin;
+    private final UniversalScheduler scheduler;
+    private final boolean folia;
+
+    private final Batch globalBatch;
+    private final Map<Object, Batch> batches = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param plugin 平台任务所属插件
+     * @param scheduler 底层调度器
+     */
+    public TaskBatcher(@NotNull Plugin plugin, @NotNull UniversalScheduler scheduler) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.folia = scheduler.isFolia();
+        this.globalBatch = new GlobalBatch();
+    }
+
+    /**
+     * 在下一 tick 运行同步任务（全局上下文）
+     * @param runnable 要执行的任务
+     * @return UniversalTask 轻量任务句柄
+     */
+    public UniversalTask runTask(@NotNull Runnable runnable) {
+        return submit(globalBatch, runnable, 1);
+    }
+
+    /**
+     * 在下一 tick 运行同步任务（基于位置）
+     * @param location 位置
+     * @param runnable 要执行的任务
+     * @return UniversalTask 轻量任务句柄
+     */
+    public UniversalTask runTask(@NotNull Location location, @NotNull Runnable runnable) {
+        return submit(batchFor(location), runnable, 1);
+    }
+
+    /**
+     * 在下一 tick 运行同步任务（基于实体）
+     * @param entity 实体
+     * @param runnable 要执行的任务
+     * @return UniversalTask 轻量任务句柄
+     */
+    public UniversalTask runTask(@NotNull Entity entity, @NotNull Runnable runnable) {
+        return submit(batchFor(entity), runnable, 1);
+    }
+
+    /**
+     * 延迟运行同步任务（全局上下文）
+     * @param runnable 要执行的任务
+     * @param delay 延迟时间（tick）
+     * @return UniversalTask 轻量任务句柄
+     */
+    public UniversalTask runLater(@NotNull Runnable runnable, long delay) {
+        return submit(globalBatch, runnable, UniversalScheduler.clampDelay(delay));
+    }
+
+    /**
+     * 延迟运行同步任务（基于位置）
+     * @param location 位置
+     * @param runnable 要执行的任务
+     * @param delay 延迟时间（tick）
+     * @return UniversalTask 轻量任务句柄
+     */
+    public UniversalTask runLater(@NotNull Location location, @NotNull Runnable runnable, long delay) {
+        return submit(batchFor(location), runnable, UniversalScheduler.clampDelay(delay));
+    }
+
+    /**
+     * 延迟运行同步任务（基于实体）
+     * @param entity 实体
+     * @param runnable 要执行的任务
+     * @param delay 延迟时间（tick）
+     * @return UniversalTask 轻量任务句柄
+     */
+    public UniversalTask runLater(@NotNull Entity entity, @NotNull Runnable runnable, long delay) {
+        return submit(batchFor(entity), runnable, UniversalScheduler.clampDelay(delay));
+    }
+
+    /**
+     * 获取当前存在的上下文队列数量（不含全局队列），用于监控
+     * @return int 队列数量
+     */
+    public int getActiveBatchCount() {
+        return batches.size();
+    }
+
+    private UniversalTask submit(Batch batch, Runnable runnable, long delay) {
+        BatchedTask task = new BatchedTask(plugin, runnable, delay);
+        batch.submit(task);
+        return task;
+    }
+
+    private Batch batchFor(Location location) {
+        if (!folia) return globalBatch;
+        World world = location.getWorld();
+        if (world == null) {
+            throw new IllegalArgumentException("Location has no world");
+        }
+        ChunkKey key = new ChunkKey(world.getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        Batch batch = batches.get(key);
+        if (batch == null) {
+            batch = batches.computeIfAbsent(key, k -> new LocationBatch(k, location.clone()));
+        }
+        return batch;
+    }
+
+    private Batch batchFor(Entity entity) {
+        if (!folia) return globalBatch;
+        UUID key = entity.getUniqueId();
+        Batch batch = batches.get(key);
+        if (batch == null) {
+            batch = batches.computeIfAbsent(key, k -> new EntityBatch(k, entity));
+        } else if (((EntityBatch) batch).entity != entity && !((EntityBatch) batch).entity.isValid()) {
+            // 同一 UUID 的旧实体已失效（如玩家重新进入），旧队列由其 retired 回调丢弃
+            batches.remove(key, batch);
+            batch = batches.computeIfAbsent(key, k -> new EntityBatch(k, entity));
+        }
+        return batch;
+    }
+
+    /**
+     * 单个上下文的任务队列
+     * <p>
+     * 同一队列同一时刻最多只有一个待执行的平台任务，因此 {@link #drain()} 不会并发执行，
+     * 可以复用同一个列表暂存本轮任务。
+     * </p>
+     */
+    private abstract class Batch implements Runnable {
+        private final Object key;
+        private final ConcurrentLinkedQueue<BatchedTask> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final List<BatchedTask> draining = new ArrayList<>();
+
+        Batch(Object key) {
+            this.key = key;
+        }
+
+        void submit(BatchedTask task) {
+            queue.offer(task);
+            if (scheduled.compareAndSet(false, true) && !schedule(this, this::discard, 1)) {
+                discard();
+            }
+        }
+
+        @Override
+        public void run() {
+            drain();
+        }
+
+        private void drain() {
+            BatchedTask task;
+            while ((task = queue.poll()) != null) {
+                draining.add(task);
+            }
+            // 先释放调度标记再执行：执行期间提交的任务会触发新的平台任务，在下一 tick 执行
+            scheduled.set(false);
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true) && !schedule(this, this::discard, 1)) {
+                discard();
+            }
+
+            Map<Long, List<BatchedTask>> delayed = null;
+            try {
+                for (int i = 0; i < draining.size(); i++) {
+                    BatchedTask pending = draining.get(i);
+                    // 本次平台任务已消耗 1 tick 延迟
+                    long remaining = pending.delay - 1;
+                    if (remaining <= 0) {
+                        pending.execute();
+                    } else if (!pending.isCancelled()) {
+                        if (delayed == null) delayed = new HashMap<>();
+                        delayed.computeIfAbsent(remaining, d -> new ArrayList<>()).add(pending);
+                    }
+                }
+            } finally {
+                draining.clear();
+            }
+
+            if (delayed != null) {
+                for (Map.Entry<Long, List<BatchedTask>> entry : delayed.entrySet()) {
+                    List<BatchedTask> group = entry.getValue();
+                    Runnable cancelGroup = () -> {
+                        for (int i = 0; i < group.size(); i++) {
+                            group.get(i).cancel();
+                        }
+                    };
+                    boolean accepted = schedule(() -> {
+                        for (int i = 0; i < group.size(); i++) {
+                            group.get(i).execute();
+                        }
+                    }, cancelGroup, entry.getKey());
+                    if (!accepted) {
+                        cancelGroup.run();
+                    }
+                }
+            }
+
+            if (key != null && !scheduled.get() && queue.isEmpty()) {
+                batches.remove(key, this);
+            }
+        }
+
+        /**
+         * 在该上下文上调度一个平台任务
+         * @param retired 平台任务因上下文失效（实体被移除）而不再执行时的回调
+         * @return 上下文已失效（如实体已被移除）时返回 false
+         */
+        abstract boolean schedule(Runnable runnable, Runnable retired, long delay);
+
+        /**
+         * 上下文已失效时丢弃队列中的任务，可能由平台的 retired 回调调用
+         */
+        void discard() {
+            BatchedTask task;
+            while ((task = queue.poll()) != null) {
+                task.cancel();
+            }
+            scheduled.set(false);
+            if (key != null) {
+                batches.remove(key, this);
+            }
+        }
+    }
+
+    private final class GlobalBatch extends Batch {
+        GlobalBatch() {
+            super(null);
+        }
+
+        @Override
+        boolean schedule(Runnable runnable, Runnable retired, long delay) {
+            return accepted(scheduler.runLater(plugin, runnable, delay));
+        }
+    }
+
+    private final class LocationBatch extends Batch {
+        private final Location location;
+
+        LocationBatch(Object key, Location location) {
+            super(key);
+            this.location = location;
+        }
+
+        @Override
+        boolean schedule(Runnable runnable, Runnable retired, long delay) {
+            return accepted(scheduler.runLater(plugin, location, runnable, delay));
+        }
+    }
+
+    private final class EntityBatch extends Batch {
+        private final Entity entity;
+
+        EntityBatch(Object key, Entity entity) {
+            super(key);
+            this.entity = entity;
+        }
+
+        @Override
+        boolean schedule(Runnable runnable, Runnable retired, long delay) {
+            if (!entity.isValid()) {
+                return false;
+            }
+            // 排队期间实体被移除时平台任务不会执行，由 retired 回调结束队列中的任务
+            return accepted(scheduler.runLater(plugin, entity, runnable, retired, delay));
+        }
+    }
+
+    /**
+     * 平台是否接受了任务：Folia 上实体已被移除时返回 null 或已取消的任务
+     */
+    private static boolean accepted(UniversalTask task) {
+        return task != null && !task.isCancelled();
+    }
+
+    /**
+     * 区块上下文键：世界 + 区块坐标
+     */
+    private static final class ChunkKey {
+        private final UUID world;
+        private final int x;
+        private final int z;
+
+        ChunkKey(UUID world, int x, int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ChunkKey)) return false;
+            ChunkKey other = (ChunkKey) o;
+            return x == other.x && z == other.z && world.equals(other.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return (world.hashCode() * 31 + x) * 31 + z;
+        }
+    }
+
+    /**
+     * 合批任务句柄：只包含任务本身和一个原子状态，不对应任何平台任务
+     */
+    private static final class BatchedTask extends AtomicInteger implements UniversalTask {
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int CANCELLED = 3;
+
+        private final Plugin plugin;
+        private final Runnable runnable;
+        private final long delay;
+
+        BatchedTask(Plugin plugin, Runnable runnable, long delay) {
+            this.plugin = plugin;
+            this.runnable = runnable;
+            this.delay = delay;
+        }
+
+        void execute() {
+            if (!compareAndSet(PENDING, RUNNING)) return;
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                // 单个任务异常不影响同批次的其他任务
+                plugin.getLogger().log(Level.WARNING, "Batched task threw an exception", throwable);
+            } finally {
+                set(DONE);
+            }
+        }
+
+        @Override
+        public Plugin getOwningPlugin() {
+            return plugin;
+        }
+
+        @Override
+        public void cancel() {
+            compareAndSet(PENDING, CANCELLED);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isCurrentlyRunning() {
+            return get() == RUNNING;
+        }
+
+        @Override
+        public TaskType getType() {
+            return TaskType.SYNC;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package cn.yvmou.ylib.scheduler;
+
+import cn.yvmou.ylib.scheduler.UniversalTask.TaskType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 任务注册表 - 记录经 YLib 调度且尚未结束的任务，按插件分组
+ * <p>
+ * 平台的 {@code cancelTasks(plugin)} 在 Folia 上只覆盖全局和异步调度器，区域和实体任务无法按插件枚举。
+ * 注册表在调度时登记每个任务，使 {@link UniversalScheduler#cancelAllTasks(Plugin)}、
+ * {@link UniversalScheduler#activeTasks()} 等方法在所有平台上都是完整的：
+ * </p>
+ * <ul>
+ *     <li>每个插件一个并发 Set，登记和移除只涉及该插件的分组，没有全局锁。</li>
+ *     <li>一次性任务执行结束或被取消时立即移除；重复任务在取消时移除。</li>
+ *     <li>登记项弱引用任务，平台丢弃的任务（如实体已移除、从未执行的任务）被回收后在下次登记时清理。</li>
+ * </ul>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class TaskRegistry {
+
+    private final Map<Plugin, Set<Entry>> tasks = new ConcurrentHashMap<>();
+    private final ReferenceQueue<TrackedTask> collected = new ReferenceQueue<>();
+
+    /**
+     * 登记一个即将调度的任务
+     * @param plugin 任务所属插件
+     * @param runnable 要执行的任务
+     * @param type 任务类型
+     * @return TrackedTask 交给平台调度器的任务，同时作为返回给调用方的句柄
+     */
+    @NotNull
+    public TrackedTask track(@NotNull Plugin plugin, @NotNull Runnable runnable, @NotNull TaskType type) {
+        purge();
+        TrackedTask task = new TrackedTask(this, plugin, runnable, type);
+        Entry entry = new Entry(task, collected);
+        task.entry = entry;
+        tasks.computeIfAbsent(plugin, key -> ConcurrentHashMap.newKeySet()).add(entry);
+        return task;
+    }
+
+    /**
+     * 取消插件所有已登记的任务
+     * @param plugin 插件实例
+     */
+    public void cancelAll(@NotNull Plugin plugin) {
+        Set<Entry> entries = tasks.remove(plugin);
+        if (entries == null) return;
+        for (Entry entry : entries) {
+            TrackedTask task = entry.get();
+            if (task != null) {
+                task.cancel();
+            }
+        }
+    }
+
+    /**
+     * 取消所有已登记的任务
+     */
+    public void cancelAll() {
+        for (Plugin plugin : tasks.keySet()) {
+            cancelAll(plugin);
+        }
+    }
+
+    /**
+     * 获取所有尚未结束的任务
+     * @return 任务快照
+     */
+    @NotNull
+    public List<UniversalTask> activeTasks() {
+        List<UniversalTask> result = new ArrayList<>();
+        for (Set<Entry> entries : tasks.values()) {
+            collect(entries, result);
+        }
+        return result;
+    }
+
+    /**
+     * 获取指定插件尚未结束的任务
+     * @param plugin 插件实例
+     * @return 任务快照
+     */
+    @NotNull
+    public List<UniversalTask> activeTasks(@NotNull Plugin plugin) {
+        Set<Entry> entries = tasks.get(plugin);
+        if (entries == null) return Collections.emptyList();
+        List<UniversalTask> result = new ArrayList<>();
+        collect(entries, result);
+        return result;
+    }
+
+    /**
+     * 按类型统计尚未结束的任务数量
+     * @return 任务类型 -> 数量
+     */
+    @NotNull
+    public Map<TaskType, Integer> countByType() {
+        Map<TaskType, Integer> counts = new EnumMap<>(TaskType.class);
+        for (TaskType type : TaskType.values()) {
+            counts.put(type, 0);
+        }
+        for (Set<Entry> entries : tasks.values()) {
+            for (Entry entry : entries) {
+                TrackedTask task = entry.get();
+                if (task != null && !task.isCancelled()) {
+                    counts.merge(task.getType(), 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    private static void collect(Set<Entry> entries, List<UniversalTask> result) {
+        for (Entry entry : entries) {
+            TrackedTask task = entry.get();
+            if (task != null && !task.isCancelled()) {
+                result.add(task);
+            }
+        }
+    }
+
+    private void untrack(Entry entry) {
+        Set<Entry> entries = tasks.get(entry.plugin);
+        if (entries != null) {
+            entries.remove(entry);
+        }
+    }
+
+    /**
+     * 清理已被回收的登记项
+     */
+    private void purge() {
+        Object reference;
+        while ((reference = collected.poll()) != null) {
+            untrack((Entry) reference);
+        }
+    }
+
+    /**
+     * 登记项：弱引用任务，保留插件以便回收后定位分组
+     */
+    private static final class Entry extends WeakReference<TrackedTask> {
+        final Plugin plugin;
+
+        Entry(TrackedTask task, ReferenceQueue<TrackedTask> queue) {
+            super(task, queue);
+            this.plugin = task.plugin;
+        }
+    }
+
+    /**
+     * 已登记的任务：既是交给平台调度器的 Runnable，也是返回给调用方的句柄
+     */
+    public static final class TrackedTask implements Runnable, UniversalTask {
+        private final TaskRegistry registry;
+        private final Plugin plugin;
+        private final TaskType type;
+        private final Runnable runnable;
+        private Entry entry;
+        private volatile UniversalTask handle;
+        private volatile boolean cancelled;
+
+        TrackedTask(TaskRegistry registry, Plugin plugin, Runnable runnable, TaskType type) {
+            this.registry = registry;
+            this.plugin = plugin;
+            this.runnable = runnable;
+            this.type = type;
+        }
+
+        /**
+         * 绑定平台返回的任务句柄；绑定前已取消时立即取消平台任务
+         * @param handle 平台任务句柄，实体已移除时可能为 null 或已取消
+         */
+        void bind(UniversalTask handle) {
+            this.handle = handle;
+            if (handle == null || handle.isCancelled()) {
+                // 平台拒绝调度（如实体已移除），任务不会执行
+                cancelled = true;
+                registry.untrack(entry);
+            } else if (cancelled) {
+                handle.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) return;
+            try {
+                runnable.run();
+            } finally {
+                if (type != TaskType.REPEATING) {
+                    registry.untrack(entry);
+                }
+            }
+        }
+
+        @Override
+        public Plugin getOwningPlugin() {
+            return plugin;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            registry.untrack(entry);
+            UniversalTask bound = handle;
+            if (bound != null) {
+                bound.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            if (cancelled) return true;
+            UniversalTask bound = handle;
+            return bound != null && bound.isCancelled();
+        }
+
+        @Override
+        public boolean isCurrentlyRunning() {
+            UniversalTask bound = handle;
+            return bound != null && bound.isCurrentlyRunning();
+        }
+
+        @Override
+        public TaskType getType() {
+            return type;
+        }
+    }
+}
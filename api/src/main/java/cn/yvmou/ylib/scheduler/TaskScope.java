@@ -0,0 +1,165 @@
+package cn.yvmou.ylib.scheduler;
+
+import cn.yvmou.ylib.scheduler.UniversalTask.TaskType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 任务作用域 - 按功能、竞技场或玩家会话归组任务，一次取消整棵子树
+ * <p>
+ * 作用域本身就是一个 {@link UniversalScheduler}：通过它启动的同步、异步、区域和实体任务都登记在作用域自己的
+ * {@link TaskRegistry} 中。{@link #close()} 取消作用域内所有未结束的任务并递归关闭子作用域，
+ * 开销只与作用域内的任务数有关，不扫描全局登记表。关闭后不能再通过该作用域调度任务。
+ * </p>
+ *
+ * <pre>{@code
+ * TaskScope arenaScope = scheduler.openScope(plugin, "arena-" + arena.getId());
+ * arenaScope.runTimer(arena::tick, 0, 1);
+ *
+ * TaskScope session = arenaScope.child("player-" + player.getName());
+ * session.runTimer(player, () -> updateHud(player), null, 0, 20);
+ *
+ * arenaScope.close(); // 比赛结束：取消竞技场及所有玩家会话中的任务
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class TaskScope extends TrackingScheduler implements AutoCloseable {
+
+    private final String name;
+    private final TaskScope parent;
+    private final Set<TaskScope> children = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例（调用方未指定插件时任务归属于它）
+     * @param delegate 实际调度任务的调度器
+     * @param name 作用域名称
+     * @param parent 父作用域，根作用域为 null
+     */
+    protected TaskScope(@NotNull Plugin plugin, @NotNull UniversalScheduler delegate, @NotNull String name, @Nullable TaskScope parent) {
+        super(plugin, delegate);
+        this.name = name;
+        this.parent = parent;
+    }
+
+    /**
+     * 创建根作用域
+     * @param plugin 插件实例
+     * @param scheduler 实际调度任务的调度器
+     * @param name 作用域名称
+     * @return TaskScope 根作用域
+     */
+    @NotNull
+    public static TaskScope open(@NotNull Plugin plugin, @NotNull UniversalScheduler scheduler, @NotNull String name) {
+        return new TaskScope(plugin, scheduler, name, null);
+    }
+
+    /**
+     * 创建子作用域，父作用域关闭时子作用域一并关闭
+     * @param name 子作用域名称
+     * @return TaskScope 子作用域
+     */
+    @NotNull
+    public TaskScope child(@NotNull String name) {
+        checkOpen();
+        // 子作用域直接使用底层调度器，任务只登记在子作用域中
+        TaskScope child = new TaskScope(getPlugin(), delegate, this.name + "/" + name, this);
+        children.add(child);
+        if (closed) {
+            child.close();
+        }
+        return child;
+    }
+
+    /**
+     * 获取作用域名称（包含父作用域路径）
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取父作用域
+     */
+    @Nullable
+    public TaskScope getParent() {
+        return parent;
+    }
+
+    /**
+     * 获取子作用域快照
+     */
+    @NotNull
+    public Set<TaskScope> getChildren() {
+        return Collections.unmodifiableSet(children);
+    }
+
+    /**
+     * 是否已关闭
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 关闭作用域：取消作用域内所有未结束的任务，递归关闭子作用域，并从父作用域中移除
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        getRegistry().cancelAll();
+        for (TaskScope child : children) {
+            child.close();
+        }
+        children.clear();
+        if (parent != null) {
+            parent.children.remove(this);
+        }
+    }
+
+    /**
+     * 只取消本作用域（不含子作用域）中属于该插件的任务，不影响作用域外的任务
+     * @param plugin 插件实例
+     */
+    @Override
+    public void cancelAllTasks(Plugin plugin) {
+        getRegistry().cancelAll(plugin);
+    }
+
+    @Override
+    protected Runnable decorate(@Nullable Plugin plugin, @NotNull Runnable runnable, @Nullable TaskType type) {
+        checkOpen();
+        return super.decorate(plugin, runnable, type);
+    }
+
+    @Override
+    protected UniversalTask onScheduled(@Nullable Plugin plugin, @NotNull Runnable decorated, UniversalTask task) {
+        UniversalTask scoped = super.onScheduled(plugin, decorated, task);
+        // 调度期间作用域被关闭：关闭时的取消可能没有覆盖到这个任务
+        if (closed && scoped != null) {
+            scoped.cancel();
+        }
+        return scoped;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskScope{" + name + (closed ? ", closed" : "") + "}";
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("TaskScope " + name + " has been closed");
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package cn.yvmou.ylib.scheduler;
+
+import cn.yvmou.ylib.YLib;
+import cn.yvmou.ylib.logger.Logger;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 任务执行统计 - 记录经 {@link UniversalScheduler} 启动的任务的执行次数、耗时和超时情况
+ * <p>
+ * 统计按"插件 + 任务类"分组（lambda 和方法引用的类名对每个声明位置都不同），
+ * 也可以用 {@link #named(String, Runnable)} 显式命名。调度时不遍历调用栈；
+ * 任务超时时由守护线程采样其调用栈，超时警告中的栈帧指出任务的具体位置。
+ * </p>
+ * <p>
+ * 每次执行只增加两次 {@code System.nanoTime()}、一次 ThreadLocal 查找和几次计数器累加；
+ * 后台守护线程定期检查正在执行的任务，超过阈值时采样其所在线程的调用栈，作为"最近一次超时"的栈样本。
+ * 守护线程随统计实例存活：调用 {@link #close()}、实例不再被引用或插件启用后又被关闭时退出
+ * （在 {@code onLoad} 中创建时插件尚未启用，不会因此提前退出）。未启用统计时调度器不做任何包装。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public final class TaskStatistics {
+
+    // 同一分组两次超时警告的最小间隔
+    private static final long WARN_INTERVAL_MILLIS = 10_000L;
+    // 超时警告中输出的栈帧数量
+    private static final int WARN_STACK_DEPTH = 8;
+
+    private final Plugin plugin;
+    private final long thresholdNanos;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final Map<Thread, RunSlot> slots = new ConcurrentHashMap<>();
+    private final ThreadLocal<RunSlot> currentSlot = ThreadLocal.withInitial(this::registerSlot);
+    private volatile boolean closed;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例（守护线程在插件启用后又被关闭时自动退出）
+     * @param thresholdMillis 超时阈值（毫秒）
+     */
+    public TaskStatistics(@NotNull Plugin plugin, long thresholdMillis) {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("Overrun threshold must be positive: " + thresholdMillis);
+        }
+        this.plugin = plugin;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+
+        Thread watchdog = new Thread(new Watchdog(this), plugin.getName() + "-task-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    /**
+     * 为任务指定统计名称，替代调用位置分组
+     * @param name 统计名称
+     * @param runnable 要执行的任务
+     * @return Runnable 带名称的任务
+     */
+    @NotNull
+    public static Runnable named(@NotNull String name, @NotNull Runnable runnable) {
+        return new NamedRunnable(name, runnable);
+    }
+
+    /**
+     * 包装任务以记录执行耗时
+     * <p>
+     * {@link Future} 类型的任务（如通过执行器提交的 {@code FutureTask}）包装后仍是 {@link Future}，
+     * 取消包装后的任务即取消原任务，因此平台在实体被移除时仍能按 {@link UniversalScheduler#rejectRetired} 结束它。
+     * </p>
+     * @param plugin 任务所属插件
+     * @param runnable 要执行的任务
+     * @return Runnable 包装后的任务
+     */
+    @NotNull
+    public Runnable wrap(@Nullable Plugin plugin, @NotNull Runnable runnable) {
+        Site site = siteFor(plugin, runnable);
+        if (runnable instanceof CompletableFuture.AsynchronousCompletionTask) {
+            return new TimedCompletionTask(site, runnable);
+        }
+        if (runnable instanceof Future) {
+            return new TimedFuture(site, runnable);
+        }
+        return new TimedRunnable(site, runnable);
+    }
+
+    /**
+     * 包装结果提供者以记录执行耗时
+     * @param plugin 任务所属插件
+     * @param supplier 结果提供者
+     * @return Supplier 包装后的结果提供者
+     */
+    @NotNull
+    public <T> Supplier<T> wrap(@Nullable Plugin plugin, @NotNull Supplier<T> supplier) {
+        Site site = siteFor(plugin, supplier);
+        return () -> {
+            RunSlot slot = currentSlot.get();
+            Site previousSite = slot.site;
+            long previousStart = slot.startedAt;
+            long start = System.nanoTime();
+            slot.begin(site, start);
+            try {
+                return supplier.get();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                slot.begin(previousSite, previousStart);
+                record(site, elapsed);
+            }
+        };
+    }
+
+    /**
+     * 获取统计信息
+     * @return 分组名称 -> 该分组的统计
+     */
+    @NotNull
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> tasks = new HashMap<>();
+        for (Site site : sites.values()) {
+            tasks.put(site.key, site.snapshot());
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("overrunThresholdMillis", TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+        stats.put("tasks", tasks);
+        return stats;
+    }
+
+    /**
+     * 停止守护线程，之后不再采样超时任务的调用栈（执行统计照常记录）
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    private Site siteFor(@Nullable Plugin owner, Object task) {
+        String pluginName = (owner != null ? owner : plugin).getName();
+        String name = task instanceof NamedRunnable ? ((NamedRunnable) task).name : task.getClass().getName();
+        String key = pluginName + ":" + name;
+        Site site = sites.get(key);
+        if (site == null) {
+            site = sites.computeIfAbsent(key, Site::new);
+        }
+        return site;
+    }
+
+    private RunSlot registerSlot() {
+        RunSlot slot = new RunSlot();
+        slots.put(Thread.currentThread(), slot);
+        return slot;
+    }
+
+    private void record(Site site, long elapsedNanos) {
+        site.runs.increment();
+        site.totalNanos.add(elapsedNanos);
+        long max;
+        while (elapsedNanos > (max = site.maxNanos.get())) {
+            if (site.maxNanos.compareAndSet(max, elapsedNanos)) break;
+        }
+        if (elapsedNanos > thresholdNanos) {
+            site.overruns.increment();
+            site.lastOverrunNanos = elapsedNanos;
+            warnOverrun(site, elapsedNanos);
+        }
+    }
+
+    private void warnOverrun(Site site, long elapsedNanos) {
+        long now = System.currentTimeMillis();
+        long last = site.lastWarnMillis;
+        if (now - last < WARN_INTERVAL_MILLIS) return;
+        site.lastWarnMillis = now;
+
+        Logger logger = yLibLogger();
+        if (logger == null) {
+            plugin.getLogger().warning("Task " + site.key + " ran for " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms");
+            return;
+        }
+        logger.warn("Task {} ran for {} ms (threshold {} ms)", site.key,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+        StackTraceElement[] sample = site.lastOverrunStack;
+        if (sample != null) {
+            for (int i = 0; i < sample.length && i < WARN_STACK_DEPTH; i++) {
+                logger.warn("    at {}", sample[i]);
+            }
+        }
+    }
+
+    @Nullable
+    private static Logger yLibLogger() {
+        try {
+            return YLib.getYLib().getLogger();
+        } catch (IllegalStateException e) {
+            // 独立使用（未初始化 YLib）时回退到插件日志
+            return null;
+        }
+    }
+
+    /**
+     * 采样超时任务的调用栈，清理已结束线程的槽位（只由守护线程调用）
+     */
+    private void sample() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Thread, RunSlot>> it = slots.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Thread, RunSlot> entry = it.next();
+            Thread thread = entry.getKey();
+            if (!thread.isAlive()) {
+                it.remove();
+                continue;
+            }
+            RunSlot slot = entry.getValue();
+            Site site = slot.site;
+            long startedAt = slot.startedAt;
+            if (site == null || now - startedAt <= thresholdNanos || slot.sampledStart == startedAt) continue;
+
+            StackTraceElement[] stack = thread.getStackTrace();
+            // 采样期间任务已结束则丢弃样本
+            if (slot.site == site && slot.startedAt == startedAt) {
+                site.lastOverrunStack = stack;
+                slot.sampledStart = startedAt;
+            }
+        }
+    }
+
+    /**
+     * 守护线程：只弱引用统计实例，实例随调度器被回收后线程自动退出
+     */
+    private static final class Watchdog implements Runnable {
+        private final WeakReference<TaskStatistics> statistics;
+        private final Plugin plugin;
+        private final long intervalMillis;
+
+        Watchdog(TaskStatistics statistics) {
+            this.statistics = new WeakReference<>(statistics);
+            this.plugin = statistics.plugin;
+            this.intervalMillis = Math.max(10L, TimeUnit.NANOSECONDS.toMillis(statistics.thresholdNanos) / 2);
+        }
+
+        @Override
+        public void run() {
+            boolean enabled = false;
+            while (true) {
+                try {
+                    Thread.sleep(intervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                TaskStatistics target = statistics.get();
+                if (target == null || target.closed) return;
+                if (plugin.isEnabled()) {
+                    enabled = true;
+                } else if (enabled) {
+                    return;
+                }
+                target.sample();
+            }
+        }
+    }
+
+    /**
+     * 单个线程当前正在执行的任务
+     */
+    private static final class RunSlot {
+        volatile Site site;
+        volatile long startedAt;
+        // 只由守护线程访问
+        long sampledStart;
+
+        void begin(Site site, long startedAt) {
+            this.startedAt = startedAt;
+            this.site = site;
+        }
+    }
+
+    /**
+     * 一个统计分组
+     */
+    private static final class Site {
+        final String key;
+        final LongAdder runs = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder overruns = new LongAdder();
+        volatile long lastOverrunNanos;
+        volatile StackTraceElement[] lastOverrunStack;
+        volatile long lastWarnMillis;
+
+        Site(String key) {
+            this.key = key;
+        }
+
+        Map<String, Object> snapshot() {
+            long count = runs.sum();
+            long total = totalNanos.sum();
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("runs", count);
+            stats.put("totalMillis", total / 1_000_000.0);
+            stats.put("avgMillis", count == 0 ? 0.0 : total / 1_000_000.0 / count);
+            stats.put("maxMillis", maxNanos.get() / 1_000_000.0);
+            stats.put("overruns", overruns.sum());
+            stats.put("lastOverrunMillis", lastOverrunNanos / 1_000_000.0);
+            StackTraceElement[] stack = lastOverrunStack;
+            List<String> frames = Collections.emptyList();
+            if (stack != null) {
+                frames = new ArrayList<>(stack.length);
+                for (StackTraceElement element : stack) {
+                    frames.add(element.toString());
+                }
+            }
+            stats.put("lastOverrunStack", frames);
+            return stats;
+        }
+    }
+
+    private class TimedRunnable implements Runnable {
+        private final Site site;
+        private final Runnable delegate;
+
+        TimedRunnable(Site site, Runnable delegate) {
+            this.site = site;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            RunSlot slot = currentSlot.get();
+            // 任务可能在另一个任务中内联执行，结束后恢复外层任务
+            Site previousSite = slot.site;
+            long previousStart = slot.startedAt;
+            long start = System.nanoTime();
+            slot.begin(site, start);
+            try {
+                delegate.run();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                slot.begin(previousSite, previousStart);
+                record(site, elapsed);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    /**
+     * 包装 {@link Future} 类型的任务，取消与状态查询转发给原任务
+     */
+    private final class TimedFuture extends TimedRunnable implements Future<Object> {
+        private final Future<?> future;
+
+        TimedFuture(Site site, Runnable delegate) {
+            super(site, delegate);
+            this.future = (Future<?>) delegate;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return future.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            return future.get();
+        }
+
+        @Override
+        public Object get(long timeout, @NotNull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return future.get(timeout, unit);
+        }
+    }
+
+    /**
+     * 包装 CompletableFuture 的异步阶段：保留标记接口，实体被移除时按异步阶段处理（记录警告而不是取消）
+     */
+    private final class TimedCompletionTask extends TimedRunnable implements CompletableFuture.AsynchronousCompletionTask {
+        TimedCompletionTask(Site site, Runnable delegate) {
+            super(site, delegate);
+        }
+    }
+
+    private static final class NamedRunnable implements Runnable {
+        private final String name;
+        private final Runnable delegate;
+
+        NamedRunnable(String name, Runnable delegate) {
+            this.name = name;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * 分层哈希时间轮 - 承载大量延迟任务（冷却、增益、超时）
+ * <p>
+ * 每个 {@code runLater} 都是一个按堆排序的平台任务，数万个过期任务会显著拖慢平台调度器。
+ * 时间轮只占用一个每 tick 执行的平台任务（Folia 上按 {@link SchedulerContext} 每个区域一个），
+ * 没有待执行的任务时驱动任务自行停止，下一次调度时重新启动。调度和取消都是 O(1)：
+ * </p>
+ * <ul>
+ *     <li>4 层 × 64 槽，第 k 层每槽跨度 64^k tick，覆盖约 2^24 tick（约 9.7 天），更远的任务进入溢出链表。</li>
+ *     <li>任何线程都可以调度和取消：调度进入无锁收件箱，由 tick 线程放入槽位；槽位链表只由 tick 线程访问。</li>
+ *     <li>取消时立即释放任务闭包，节点在下一 tick 从槽位中摘除，不会让已取消的任务继续占用内存。</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * TimingWheel wheel = new TimingWheel(plugin, scheduler, SchedulerContext.global());
+ * UniversalTask expiry = wheel.schedule(() -> cooldowns.remove(uuid), 20L * 60);
+ * expiry.cancel(); // 提前结束
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class TimingWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    // 时间轮能直接容纳的最大延迟，超出进入溢出链表
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final Plugin plugin;
+    private final UniversalScheduler scheduler;
+    private final SchedulerContext context;
+
+    // 以下字段只由 tick 线程访问
+    private final Node[][] wheel = new Node[LEVELS][SLOTS];
+    private Node overflow;
+    // 只由 tick 线程写入，其他线程可读取
+    private volatile long currentTick;
+
+    private final ConcurrentLinkedQueue<WheelTask> inbox = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<WheelTask> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    // 持有者独占槽位：tick 或 close 清理，保证两者不会同时访问槽位
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    private volatile Driver driver;
+    private volatile boolean closed;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param scheduler 底层调度器
+     * @param context 驱动时间轮的上下文，到期任务在该上下文中执行
+     */
+    public TimingWheel(@NotNull Plugin plugin, @NotNull UniversalScheduler scheduler, @NotNull SchedulerContext context) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.context = context;
+    }
+
+    /**
+     * 延迟执行任务
+     * @param runnable 要执行的任务
+     * @param delay 延迟时间（tick），小于等于 0 视为 1
+     * @return UniversalTask 任务句柄，取消后不再引用 runnable
+     */
+    @NotNull
+    public UniversalTask schedule(@NotNull Runnable runnable, long delay) {
+        if (closed) {
+            throw new IllegalStateException("TimingWheel has been closed");
+        }
+        WheelTask task = new WheelTask(this, runnable, UniversalScheduler.clampDelay(delay));
+        pending.incrementAndGet();
+        inbox.offer(task);
+        if (closed) {
+            // 与 close 并发：close 可能已经清理过收件箱，由提交方撤回
+            inbox.remove(task);
+            task.cancel();
+            throw new IllegalStateException("TimingWheel has been closed");
+        }
+        if (started.compareAndSet(false, true)) {
+            startDriver();
+        }
+        return task;
+    }
+
+    /**
+     * 获取尚未执行且未取消的任务数量
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * 获取时间轮已推进的 tick 数，可用于在任意线程上计算相对截止时间
+     * <p>
+     * 时间轮空闲（驱动任务停止）期间不推进，相对截止时间仍然正确。
+     * </p>
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * 获取驱动上下文
+     */
+    @NotNull
+    public SchedulerContext getContext() {
+        return context;
+    }
+
+    /**
+     * 关闭时间轮：停止驱动任务，取消所有未执行的任务
+     */
+    public void close() {
+        closed = true;
+        Driver current = driver;
+        if (current != null) {
+            current.stop();
+        }
+        // tick 正在执行时由它在结束后清理
+        if (ticking.compareAndSet(false, true)) {
+            try {
+                cancelAll();
+            } finally {
+                ticking.set(false);
+            }
+        }
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    private void startDriver() {
+        Driver next = new Driver();
+        driver = next;
+        next.handle = context.runTimer(scheduler, plugin, next, 1, 1);
+        // 句柄返回前已被 close 或空闲检查停止
+        if (next.stopped || closed) {
+            next.stop();
+        }
+    }
+
+    private void tick(Driver self) {
+        if (!ticking.compareAndSet(false, true)) return;
+        try {
+            if (closed) {
+                cancelAll();
+                return;
+            }
+            advance();
+            if (pending.get() == 0) {
+                // 空闲：停止驱动任务；与并发的 schedule 竞争时由重新检查保证有驱动任务
+                self.stop();
+                started.set(false);
+                if (pending.get() > 0 && !closed && started.compareAndSet(false, true)) {
+                    startDriver();
+                }
+            }
+        } finally {
+            ticking.set(false);
+        }
+        if (closed && ticking.compareAndSet(false, true)) {
+            try {
+                cancelAll();
+            } finally {
+                ticking.set(false);
+            }
+        }
+    }
+
+    /**
+     * 取消收件箱、槽位和溢出链表中的所有任务（持有 ticking 时调用）
+     */
+    private void cancelAll() {
+        WheelTask task;
+        while ((task = inbox.poll()) != null) {
+            task.cancel();
+        }
+        for (Node[] slots : wheel) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                cancelList(slots[slot]);
+                slots[slot] = null;
+            }
+        }
+        cancelList(overflow);
+        overflow = null;
+        cancelled.clear();
+    }
+
+    private void cancelList(Node node) {
+        while (node != null) {
+            Node next = node.next;
+            WheelTask task = (WheelTask) node;
+            task.prev = null;
+            task.next = null;
+            task.slots = null;
+            task.linked = false;
+            task.cancel();
+            node = next;
+        }
+    }
+
+    private void advance() {
+        long now = ++currentTick;
+
+        // 1. 摘除已取消的节点
+        WheelTask task;
+        while ((task = cancelled.poll()) != null) {
+            unlink(task);
+        }
+
+        // 2. 收件箱中的任务视为在上一 tick 提交
+        while ((task = inbox.poll()) != null) {
+            if (task.isCancelled()) continue;
+            task.deadline = now - 1 + task.delay;
+            insert(task, now);
+        }
+
+        // 3. 从高层到低层逐级下放到期槽位
+        if ((now & SLOT_MASK) == 0) {
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                long levelMask = (1L << (SLOT_BITS * level)) - 1;
+                if ((now & levelMask) != 0) continue;
+                if (level == LEVELS - 1 && overflow != null) {
+                    Node list = overflow;
+                    overflow = null;
+                    reinsert(list, now);
+                }
+                int slot = (int) ((now >>> (SLOT_BITS * level)) & SLOT_MASK);
+                Node list = wheel[level][slot];
+                wheel[level][slot] = null;
+                reinsert(list, now);
+            }
+        }
+
+        // 4. 执行第 0 层当前槽位
+        int slot = (int) (now & SLOT_MASK);
+        Node node = wheel[0][slot];
+        wheel[0][slot] = null;
+        while (node != null) {
+            Node next = node.next;
+            WheelTask expired = (WheelTask) node;
+            expired.prev = null;
+            expired.next = null;
+            expired.linked = false;
+            expired.execute(plugin);
+            node = next;
+        }
+    }
+
+    private void reinsert(Node list, long now) {
+        while (list != null) {
+            Node next = list.next;
+            WheelTask task = (WheelTask) list;
+            task.prev = null;
+            task.next = null;
+            task.linked = false;
+            insert(task, now);
+            list = next;
+        }
+    }
+
+    private void insert(WheelTask task, long now) {
+        long delta = task.deadline - now;
+        if (delta < 0) {
+            // 下放过程中已到期，放入当前槽位立即执行
+            task.deadline = now;
+            delta = 0;
+        }
+        if (delta >= SPAN) {
+            push(task, null, 0);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((task.deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        push(task, wheel[level], slot);
+    }
+
+    private void push(WheelTask task, Node[] slots, int slot) {
+        Node head = slots == null ? overflow : slots[slot];
+        task.next = head;
+        task.prev = null;
+        if (head != null) head.prev = task;
+        if (slots == null) {
+            overflow = task;
+        } else {
+            slots[slot] = task;
+        }
+        task.slots = slots;
+        task.slot = slot;
+        task.linked = true;
+    }
+
+    private void unlink(WheelTask task) {
+        if (!task.linked) return;
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else if (task.slots == null) {
+            overflow = task.next;
+        } else {
+            task.slots[task.slot] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.prev = null;
+        task.next = null;
+        task.slots = null;
+        task.linked = false;
+    }
+
+    /**
+     * 驱动任务，每次启动创建一个；停止后即使平台任务再次执行也不会推进时间轮
+     */
+    private final class Driver implements Runnable {
+        volatile UniversalTask handle;
+        volatile boolean stopped;
+
+        @Override
+        public void run() {
+            if (stopped) {
+                stop();
+                return;
+            }
+            tick(this);
+        }
+
+        void stop() {
+            stopped = true;
+            UniversalTask task = handle;
+            if (task != null) {
+                task.cancel();
+            }
+        }
+    }
+
+    /**
+     * 槽位链表节点（仅由 tick 线程访问）
+     */
+    private abstract static class Node extends AtomicInteger {
+        Node prev;
+        Node next;
+        Node[] slots;
+        int slot;
+        boolean linked;
+    }
+
+    /**
+     * 时间轮任务句柄
+     */
+    private static final class WheelTask extends Node implements UniversalTask {
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int CANCELLED = 3;
+
+        private final TimingWheel owner;
+        private final long delay;
+        // 执行完成或取消后置空，释放闭包
+        private Runnable runnable;
+        long deadline;
+
+        WheelTask(TimingWheel owner, Runnable runnable, long delay) {
+            this.owner = owner;
+            this.runnable = runnable;
+            this.delay = delay;
+        }
+
+        void execute(Plugin plugin) {
+            if (!compareAndSet(PENDING, RUNNING)) return;
+            Runnable action = runnable;
+            runnable = null;
+            owner.pending.decrementAndGet();
+            try {
+                action.run();
+            } catch (Throwable throwable) {
+                plugin.getLogger().log(Level.WARNING, "Timing wheel task threw an exception", throwable);
+            } finally {
+                set(DONE);
+            }
+        }
+
+        @Override
+        public Plugin getOwningPlugin() {
+            return owner.plugin;
+        }
+
+        @Override
+        public void cancel() {
+            if (compareAndSet(PENDING, CANCELLED)) {
+                runnable = null;
+                owner.pending.decrementAndGet();
+                owner.cancelled.offer(this);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isCurrentlyRunning() {
+            return get() == RUNNING;
+        }
+
+        @Override
+        public TaskType getType() {
+            return owner.context.isAsync() ? TaskType.ASYNC : TaskType.SYNC;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package cn.yvmou.ylib.scheduler;
+
+import cn.yvmou.ylib.scheduler.UniversalTask.TaskType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 登记任务的调度器装饰器 - 把经过的每个任务登记到 {@link TaskRegistry}
+ * <p>
+ * YLib 总是用它包装平台调度器，使 {@link #cancelAllTasks(Plugin)} 也能取消 Folia 上的区域和实体任务，
+ * 并提供 {@link #activeTasks()}、{@link #countByType()} 查询。命名异步线程池按插件隔离，{@code cancelAllTasks} 时一并关闭。通过执行器提交、没有任务句柄的任务不登记。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class TrackingScheduler extends ForwardingScheduler {
+
+    private final Plugin plugin;
+    private final TaskRegistry registry = new TaskRegistry();
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例（调用方未指定插件时任务归属于它）
+     * @param delegate 平台调度器
+     */
+    public TrackingScheduler(@NotNull Plugin plugin, @NotNull UniversalScheduler delegate) {
+        super(delegate);
+        this.plugin = plugin;
+    }
+
+    /**
+     * 获取默认任务归属插件
+     */
+    @NotNull
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * 获取任务注册表
+     */
+    @NotNull
+    public TaskRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    protected Runnable decorate(@Nullable Plugin plugin, @NotNull Runnable runnable, @Nullable TaskType type) {
+        if (type == null) return runnable;
+        return registry.track(plugin != null ? plugin : this.plugin, runnable, type);
+    }
+
+    @Override
+    protected UniversalTask onScheduled(@Nullable Plugin plugin, @NotNull Runnable decorated, UniversalTask task) {
+        if (!(decorated instanceof TaskRegistry.TrackedTask)) return task;
+        TaskRegistry.TrackedTask tracked = (TaskRegistry.TrackedTask) decorated;
+        tracked.bind(task);
+        return task == null ? null : tracked;
+    }
+
+    @Override
+    public void cancelAllTasks(Plugin plugin) {
+        registry.cancelAll(plugin);
+        delegate.cancelAllTasks(plugin);
+        AsyncPool.shutdownAll(plugin);
+    }
+
+    @NotNull
+    @Override
+    public AsyncPool asyncPool(@NotNull String name, int maxThreads, int queueCapacity, @NotNull AsyncPool.RejectionPolicy rejectionPolicy) {
+        return AsyncPool.named(plugin, name, maxThreads, queueCapacity, rejectionPolicy);
+    }
+
+    @Override
+    public void cancelTask(UniversalTask universalTask) {
+        if (universalTask instanceof TaskRegistry.TrackedTask) {
+            universalTask.cancel();
+        } else {
+            delegate.cancelTask(universalTask);
+        }
+    }
+
+    @Override
+    public List<UniversalTask> activeTasks() {
+        return registry.activeTasks();
+    }
+
+    @Override
+    public List<UniversalTask> activeTasks(@NotNull Plugin plugin) {
+        return registry.activeTasks(plugin);
+    }
+
+    @Override
+    public Map<TaskType, Integer> countByType() {
+        return registry.countByType();
+    }
+}
@@ -3,90 +3,156 @@ package cn.yvmou.ylib.scheduler;
 import cn.yvmou.ylib.YLib;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
-
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Supplier;
+
+/**
+ * 可自行调度和取消的任务，用法与 BukkitRunnable 相同
+ * <p>
+ * 状态为 NEW → SCHEDULED → CANCELLED 的原子状态机，调度、取消和查询都不加锁，
+ * Folia 上多个区域线程同时查询同一个实例时不会互相阻塞。未调度时取消不会抛出异常，之后的调度会被拒绝。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
 public class UniversalRunnable implements Runnable {
-    private UniversalTask task;
 
-    public synchronized boolean isCancelled() throws IllegalStateException {
-        checkScheduled();
-        return task.isCancelled();
+    private static final int NEW = 0;
+    // 已占用调度权，正在向调度器提交
+    private static final int SCHEDULING = 1;
+    private static final int SCHEDULED = 2;
+    private static final int CANCELLED = 3;
+
+    private static final AtomicIntegerFieldUpdater<UniversalRunnable> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(UniversalRunnable.class, "state");
+
+    private volatile int state = NEW;
+    private volatile UniversalTask task;
+
+    /**
+     * 检查任务是否已取消（包括通过 {@link UniversalScheduler#cancelAllTasks} 等方式取消底层任务）
+     * @return boolean 如果任务已取消返回true
+     */
+    public boolean isCancelled() {
+        int current = state;
+        if (current == CANCELLED) return true;
+        UniversalTask scheduled = task;
+        return current == SCHEDULED && scheduled != null && scheduled.isCancelled();
+    }
+
+    /**
+     * 检查是否已调用 {@link #cancel()}，只读取本实例的状态，不访问底层任务，适合在 {@link #run()} 中频繁调用
+     * @return boolean 如果已请求取消返回true
+     */
+    public boolean isCancelRequested() {
+        return state == CANCELLED;
+    }
+
+    /**
+     * 检查是否已提交给调度器
+     * @return boolean 已调度（包括调度后被取消）返回true
+     */
+    public boolean isScheduled() {
+        return task != null;
+    }
+
+    /**
+     * 获取底层任务
+     * @return UniversalTask 底层任务，尚未调度时为 null
+     */
+    @Nullable
+    public UniversalTask getTask() {
+        return task;
+    }
+
+    /**
+     * 取消任务；尚未调度时标记为已取消，之后的调度将抛出 {@link IllegalStateException}
+     */
+    public void cancel() {
+        for (;;) {
+            int current = state;
+            if (current == CANCELLED) return;
+            if (!STATE.compareAndSet(this, current, CANCELLED)) continue;
+            // SCHEDULING 状态下由调度线程在提交完成后取消
+            UniversalTask scheduled = task;
+            if (current == SCHEDULED && scheduled != null) {
+                scheduled.cancel();
+            }
+            return;
+        }
     }
 
-    public synchronized void cancel() throws IllegalStateException {
-        task.cancel();
+    @NotNull
+    public UniversalTask runTask(@NotNull Plugin plugin) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runTask(plugin, this));
     }
 
     @NotNull
-    public synchronized UniversalTask runTask(@NotNull Plugin plugin) throws IllegalArgumentException, IllegalStateException {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runTask(plugin, this));
+    public UniversalTask runTask() throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runTask(this));
+    }
 
+    @NotNull
+    public UniversalTask runAsync(@NotNull Plugin plugin) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runAsync(plugin, this));
     }
 
     @NotNull
-    public synchronized UniversalTask runTask() throws IllegalArgumentException, IllegalStateException {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runTask(this));
+    public UniversalTask runAsync() throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runAsync(this));
     }
 
     @NotNull
-    public synchronized UniversalTask runAsync(@NotNull Plugin plugin) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runAsync(plugin, this));
+    public UniversalTask runAsync(@NotNull Plugin plugin, @NotNull AsyncPool pool) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runAsync(pool, plugin, this));
     }
 
     @NotNull
-    public synchronized UniversalTask runAsync() throws IllegalArgumentException, IllegalStateException {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runAsync(this));
+    public UniversalTask runAsync(@NotNull AsyncPool pool) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runAsync(pool, null, this));
     }
 
     @NotNull
-    public synchronized UniversalTask runLater(@NotNull Plugin plugin, long delay) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runLater(plugin, this, delay));
+    public UniversalTask runLater(@NotNull Plugin plugin, long delay) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runLater(plugin, this, delay));
     }
 
     @NotNull
-    public synchronized UniversalTask runLater(long delay) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runLater(this, delay));
+    public UniversalTask runLater(long delay) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runLater(this, delay));
     }
 
     @NotNull
-    public synchronized UniversalTask runLaterAsync(@NotNull Plugin plugin, long delay) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runLaterAsync(plugin, this, delay));
+    public UniversalTask runLaterAsync(@NotNull Plugin plugin, long delay) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runLaterAsync(plugin, this, delay));
     }
 
     @NotNull
-    public synchronized UniversalTask runLaterAsync(long delay) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runLaterAsync(this, delay));
+    public UniversalTask runLaterAsync(long delay) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runLaterAsync(this, delay));
     }
 
     @NotNull
-    public synchronized UniversalTask runTimer(@NotNull Plugin plugin, long delay, long period) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runTimer(plugin, this, delay, period));
+    public UniversalTask runTimer(@NotNull Plugin plugin, long delay, long period) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runTimer(plugin, this, delay, period));
     }
 
     @NotNull
-    public synchronized UniversalTask runTimer(long delay, long period) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runTimer(this, delay, period));
+    public UniversalTask runTimer(long delay, long period) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runTimer(this, delay, period));
     }
 
     @NotNull
-    public synchronized UniversalTask runTimerAsync(@NotNull Plugin plugin, long delay, long period) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runTimerAsync(plugin, this, delay, period));
+    public UniversalTask runTimerAsync(@NotNull Plugin plugin, long delay, long period) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runTimerAsync(plugin, this, delay, period));
     }
 
     @NotNull
-    public synchronized  UniversalTask runTimerAsync(long delay, long period) throws IllegalArgumentException, IllegalStateException  {
-        checkNotYetScheduled();
-        return setupTask(getScheduler().runTimerAsync(this, delay, period));
+    public UniversalTask runTimerAsync(long delay, long period) throws IllegalArgumentException, IllegalStateException {
+        return schedule(() -> getScheduler().runTimerAsync(this, delay, period));
     }
 
     @Override
@@ -98,21 +164,23 @@ public class UniversalRunnable implements Runnable {
         return YLib.getYLib().getScheduler();
     }
 
-    private void checkScheduled() {
-        if (task == null) {
-            throw new IllegalStateException("Not scheduled yet");
+    @NotNull
+    private UniversalTask schedule(@NotNull Supplier<UniversalTask> submit) {
+        if (!STATE.compareAndSet(this, NEW, SCHEDULING)) {
+            throw new IllegalStateException(state == CANCELLED ? "Already cancelled" : "Already scheduled");
         }
-    }
-
-    private void checkNotYetScheduled() {
-        if (task != null) {
-            throw new IllegalStateException("Already scheduled");
+        UniversalTask scheduled;
+        try {
+            scheduled = submit.get();
+        } catch (RuntimeException | Error e) {
+            STATE.compareAndSet(this, SCHEDULING, NEW);
+            throw e;
         }
-    }
-
-    @NotNull
-    private UniversalTask setupTask(@NotNull final UniversalTask task) {
-        this.task = task;
-        return task;
+        this.task = scheduled;
+        if (!STATE.compareAndSet(this, SCHEDULING, SCHEDULED) && scheduled != null) {
+            // 提交期间被取消
+            scheduled.cancel();
+        }
+        return scheduled;
     }
 }
@@ -1,11 +1,32 @@
 package cn.yvmou.ylib.scheduler;
 
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 /**
  * 调度器管理器接口 - 提供统一的调度器管理功能
  *
@@ -69,6 +90,34 @@ public interface UniversalScheduler {
      */
     UniversalTask runTask(Plugin plugin, Entity entity, @NotNull Runnable runnable);
 
+    /**
+     * 运行同步任务（基于实体）
+     * <p>
+     * 任务排队期间实体被移除时 Folia 不会执行任务，改为调用 {@code retired}；
+     * 实体在提交时已被移除则返回已取消的任务，不调用 {@code retired}。
+     * 非 Folia 平台实体任务不会因实体移除而丢弃，默认实现忽略 {@code retired}。
+     * </p>
+     * @param entity 实体
+     * @param runnable 要执行的任务
+     * @param retired 实体死亡时的回调
+     * @return UniversalTask 任务实例
+     */
+    default UniversalTask runTask(Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired) {
+        return runTask(entity, runnable);
+    }
+
+    /**
+     * 运行同步任务（基于实体），实体死亡时的处理同 {@link #runTask(Entity, Runnable, Runnable)}
+     * @param plugin 插件实例
+     * @param entity 实体
+     * @param runnable 要执行的任务
+     * @param retired 实体死亡时的回调
+     * @return UniversalTask 任务实例
+     */
+    default UniversalTask runTask(Plugin plugin, Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired) {
+        return runTask(plugin, entity, runnable);
+    }
+
     /**
      * 延迟运行同步任务
      * @param runnable 要执行的任务
@@ -124,6 +173,31 @@ public interface UniversalScheduler {
      */
     UniversalTask runLater(Plugin plugin, Entity entity, @NotNull Runnable runnable, long delay);
 
+    /**
+     * 延迟运行同步任务（基于实体），实体死亡时的处理同 {@link #runTask(Entity, Runnable, Runnable)}
+     * @param entity 实体
+     * @param runnable 要执行的任务
+     * @param retired 实体死亡时的回调
+     * @param delay 延迟时间（tick）
+     * @return UniversalTask 任务实例
+     */
+    default UniversalTask runLater(Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired, long delay) {
+        return runLater(entity, runnable, delay);
+    }
+
+    /**
+     * 延迟运行同步任务（基于实体），实体死亡时的处理同 {@link #runTask(Entity, Runnable, Runnable)}
+     * @param plugin 插件实例
+     * @param entity 实体
+     * @param runnable 要执行的任务
+     * @param retired 实体死亡时的回调
+     * @param delay 延迟时间（tick）
+     * @return UniversalTask 任务实例
+     */
+    default UniversalTask runLater(Plugin plugin, Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired, long delay) {
+        return runLater(plugin, entity, runnable, delay);
+    }
+
     /**
      * 运行定时任务
      * @param runnable 要执行的任务
@@ -238,6 +312,50 @@ public interface UniversalScheduler {
      */
     UniversalTask runTimerAsync(Plugin plugin, @NotNull Runnable runnable, long delay, long period);
 
+    /**
+     * 运行异步定时任务，指定定时模式和错过执行的处理策略；同一定时任务的执行不会重叠
+     * @param plugin 插件实例
+     * @param runnable 要执行的任务
+     * @param delay 首次执行延迟（tick）
+     * @param period 周期（tick）
+     * @param mode 定时模式
+     * @param policy 错过执行的处理策略（仅固定频率模式）
+     * @return AsyncTimer 任务实例
+     */
+    @NotNull
+    default AsyncTimer runTimerAsync(Plugin plugin, @NotNull Runnable runnable, long delay, long period,
+                                     @NotNull AsyncTimer.Mode mode, @NotNull AsyncTimer.MissedRunPolicy policy) {
+        return AsyncTimer.start(this, plugin, runnable, delay, period, mode, policy);
+    }
+
+    /**
+     * 获取或创建命名异步线程池，用于隔离某一类异步工作（数据库、HTTP 等）
+     * <p>
+     * 同名线程池只创建一次，参数以首次创建为准。YLib 提供的调度器按插件隔离线程池，
+     * 并在 {@link #cancelAllTasks(Plugin)} 时关闭该插件的线程池；此默认实现创建不属于任何插件的线程池。
+     * </p>
+     * @param name 线程池名称
+     * @param maxThreads 最大线程数
+     * @param queueCapacity 队列容量
+     * @param rejectionPolicy 队列满时的处理策略
+     * @return AsyncPool 线程池
+     */
+    @NotNull
+    default AsyncPool asyncPool(@NotNull String name, int maxThreads, int queueCapacity, @NotNull AsyncPool.RejectionPolicy rejectionPolicy) {
+        return AsyncPool.named(name, maxThreads, queueCapacity, rejectionPolicy);
+    }
+
+    /**
+     * 在命名线程池中运行异步任务
+     * @param pool 线程池
+     * @param plugin 插件实例
+     * @param runnable 要执行的任务
+     * @return UniversalTask 任务实例
+     */
+    default UniversalTask runAsync(@NotNull AsyncPool pool, Plugin plugin, @NotNull Runnable runnable) {
+        return pool.submit(plugin, runnable);
+    }
+
     /**
      * 取消所有任务
      */
@@ -253,8 +371,435 @@ public interface UniversalScheduler {
      * 异步传送实体
      * @param entity 实体
      * @param location 目标位置
+     * @return 传送完成时完成的 Future，结果表示是否传送成功
+     */
+    CompletableFuture<Boolean> teleportAsync(Entity entity, Location location);
+
+    /**
+     * 批量传送实体：先并行预加载所有目标区块，再按实体所属区域分组传送
+     * <pre>{@code
+     * scheduler.teleportAllAsync(spawnAssignments).thenRun(game::start);
+     * }</pre>
+     * @param targets 实体 -> 目标位置
+     * @return 全部传送结束时完成的 Future，结果为每个实体是否传送成功（实体已移除或传送异常时为 false）
+     */
+    @NotNull
+    default CompletableFuture<Map<Entity, Boolean>> teleportAllAsync(@NotNull Map<? extends Entity, Location> targets) {
+        Map<World, Set<ChunkPos>> chunksByWorld = new HashMap<>();
+        for (Location target : targets.values()) {
+            chunksByWorld.computeIfAbsent(target.getWorld(), world -> new HashSet<>()).add(ChunkPos.of(target));
+        }
+        List<CompletableFuture<List<Chunk>>> preloads = new ArrayList<>(chunksByWorld.size());
+        for (Map.Entry<World, Set<ChunkPos>> entry : chunksByWorld.entrySet()) {
+            preloads.add(loadChunksAsync(entry.getKey(), entry.getValue()));
+        }
+
+        Map<Entity, CompletableFuture<Boolean>> teleports = new ConcurrentHashMap<>();
+        return CompletableFuture.allOf(preloads.toArray(new CompletableFuture[0]))
+                // 预加载只是优化，失败时照常传送
+                .handle((ignored, throwable) -> null)
+                .thenCompose(ignored -> forEachEntity(targets.keySet(), entity -> {
+                    CompletableFuture<Boolean> teleport;
+                    try {
+                        teleport = teleportAsync(entity, targets.get(entity));
+                    } catch (Throwable throwable) {
+                        teleport = new CompletableFuture<>();
+                        teleport.completeExceptionally(throwable);
+                    }
+                    teleports.put(entity, teleport);
+                }))
+                .thenCompose(ignored -> CompletableFuture.allOf(teleports.values().toArray(new CompletableFuture[0]))
+                        .handle((done, throwable) -> {
+                            Map<Entity, Boolean> results = new HashMap<>();
+                            for (Entity entity : targets.keySet()) {
+                                CompletableFuture<Boolean> teleport = teleports.get(entity);
+                                results.put(entity, teleport != null && !teleport.isCompletedExceptionally()
+                                        && Boolean.TRUE.equals(teleport.join()));
+                            }
+                            return results;
+                        }));
+    }
+
+    /**
+     * 获取任务执行统计（需启用 {@link SchedulerOptions#statistics(boolean)}）
+     * @return 统计信息，未启用时为空
+     */
+    default Map<String, Object> getStatistics() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 打开任务作用域：通过作用域启动的任务可以随 {@link TaskScope#close()} 一次性取消
+     * @param plugin 插件实例
+     * @param name 作用域名称（用于调试）
+     * @return TaskScope 根作用域
+     */
+    @NotNull
+    default TaskScope openScope(@NotNull Plugin plugin, @NotNull String name) {
+        return TaskScope.open(plugin, this, name);
+    }
+
+    /**
+     * 获取经 YLib 调度且尚未结束的任务（包括区域与实体任务）
+     * @return 任务快照，平台调度器未经 YLib 包装时为空
+     */
+    default List<UniversalTask> activeTasks() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 获取指定插件经 YLib 调度且尚未结束的任务
+     * @param plugin 插件实例
+     * @return 任务快照，平台调度器未经 YLib 包装时为空
+     */
+    default List<UniversalTask> activeTasks(@NotNull Plugin plugin) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 按类型统计经 YLib 调度且尚未结束的任务数量
+     * @return 任务类型 -> 数量，平台调度器未经 YLib 包装时为空
+     */
+    default Map<UniversalTask.TaskType, Integer> countByType() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 获取最近一个服务器 tick 的耗时（MSPT），用于推迟可延后的工作
+     * @return 毫秒；平台不提供时返回 -1（Spigot、Folia 的区域 tick 由调用方自行测量）
+     */
+    default double getTickTimeMillis() {
+        return -1;
+    }
+
+    // ========= 线程归属与内联执行 ==========
+
+    /**
+     * 当前线程是否为全局上下文线程（Spigot/Paper 主线程，Folia 全局区域线程）
+     * @return boolean 是否可以直接执行全局任务
+     */
+    default boolean isGlobalThread() {
+        return Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * 当前线程是否拥有该位置所在的区域（Spigot/Paper 上即是否为主线程）
+     * @param location 位置
+     * @return boolean 是否可以直接操作该位置
+     */
+    default boolean isOwnedByCurrentRegion(@NotNull Location location) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * 当前线程是否拥有该实体（Spigot/Paper 上即是否为主线程）
+     * @param entity 实体
+     * @return boolean 是否可以直接操作该实体
+     */
+    default boolean isOwnedByCurrentRegion(@NotNull Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * 已在全局上下文线程时立即执行，否则调度到下一 tick
+     * @param runnable 要执行的任务
+     * @return UniversalTask 任务实例；已立即执行时返回 null
+     */
+    @Nullable
+    default UniversalTask executeOrSchedule(@NotNull Runnable runnable) {
+        if (isGlobalThread()) {
+            runnable.run();
+            return null;
+        }
+        return runTask(runnable);
+    }
+
+    /**
+     * 当前线程拥有该位置时立即执行，否则调度到该位置所在区域
+     * @param location 位置
+     * @param runnable 要执行的任务
+     * @return UniversalTask 任务实例；已立即执行时返回 null
+     */
+    @Nullable
+    default UniversalTask executeOrSchedule(@NotNull Location location, @NotNull Runnable runnable) {
+        if (isOwnedByCurrentRegion(location)) {
+            runnable.run();
+            return null;
+        }
+        return runTask(location, runnable);
+    }
+
+    /**
+     * 当前线程拥有该实体时立即执行，否则调度到实体所在区域
+     * @param entity 实体
+     * @param runnable 要执行的任务
+     * @return UniversalTask 任务实例；已立即执行时返回 null
+     */
+    @Nullable
+    default UniversalTask executeOrSchedule(@NotNull Entity entity, @NotNull Runnable runnable) {
+        if (isOwnedByCurrentRegion(entity)) {
+            runnable.run();
+            return null;
+        }
+        return runTask(entity, runnable);
+    }
+
+    // ========= 批量执行 ==========
+
+    /**
+     * 对一组实体执行同一操作
+     * <p>
+     * Spigot/Paper 上在一个主线程任务中处理全部实体；Folia 上按所属区域分组，每个区域只提交一个任务。
+     * 单个实体抛出的异常不会中断其他实体，会作为返回 Future 的异常结果。
+     * </p>
+     * @param entities 实体集合（调用时复制）
+     * @param action 对每个实体执行的操作
+     * @return CompletableFuture 全部实体处理完成时完成
+     */
+    default <E extends Entity> CompletableFuture<Void> forEachEntity(@NotNull Collection<? extends E> entities, @NotNull Consumer<? super E> action) {
+        List<E> targets = new ArrayList<>(entities);
+        BulkCompletion completion = new BulkCompletion(targets.isEmpty() ? 0 : 1);
+        if (!targets.isEmpty()) {
+            runTask(() -> {
+                for (E entity : targets) {
+                    completion.apply(entity, action);
+                }
+                completion.done();
+            });
+        }
+        return completion.future();
+    }
+
+    /**
+     * 对一组位置执行同一操作
+     * <p>
+     * Spigot/Paper 上在一个主线程任务中处理全部位置；Folia 上按所属区域分组，每个区域只提交一个任务。
+     * </p>
+     * @param locations 位置集合（调用时复制）
+     * @param action 对每个位置执行的操作
+     * @return CompletableFuture 全部位置处理完成时完成
      */
-    void teleportAsync(Entity entity, Location location);
+    default CompletableFuture<Void> forEachLocation(@NotNull Collection<? extends Location> locations, @NotNull Consumer<? super Location> action) {
+        List<Location> targets = new ArrayList<>(locations);
+        BulkCompletion completion = new BulkCompletion(targets.isEmpty() ? 0 : 1);
+        if (!targets.isEmpty()) {
+            runTask(() -> {
+                for (Location location : targets) {
+                    completion.apply(location, action);
+                }
+                completion.done();
+            });
+        }
+        return completion.future();
+    }
+
+    /**
+     * 分片执行周期任务：每个实体每 periodTicks tick 处理一次，按 UUID 均摊到周期内的每个 tick
+     * <pre>{@code
+     * scheduler.runSharded(Bukkit.getOnlinePlayers(), this::updateScoreboard, 20);
+     * }</pre>
+     * @param source 实体来源（每个周期读取一次；Folia 上在全局线程迭代，必须支持并发迭代）
+     * @param action 对每个实体执行的操作
+     * @param periodTicks 周期（tick）
+     * @return ShardedTask 任务句柄
+     */
+    @NotNull
+    default <E extends Entity> ShardedTask<E> runSharded(@NotNull Collection<? extends E> source, @NotNull Consumer<? super E> action, int periodTicks) {
+        return ShardedTask.start(this, source, Entity::getUniqueId, action, periodTicks, true);
+    }
+
+    /**
+     * 分片执行周期任务（非实体元素，在全局上下文中执行）
+     * @param source 元素来源（每个周期读取一次，在驱动线程迭代）
+     * @param keyFunction 元素的 UUID，决定元素所属分片
+     * @param action 对每个元素执行的操作
+     * @param periodTicks 周期（tick）
+     * @return ShardedTask 任务句柄
+     */
+    @NotNull
+    default <T> ShardedTask<T> runSharded(@NotNull Collection<? extends T> source, @NotNull Function<? super T, UUID> keyFunction,
+                                          @NotNull Consumer<? super T> action, int periodTicks) {
+        return ShardedTask.start(this, source, keyFunction, action, periodTicks, false);
+    }
+
+    /**
+     * 分片执行周期任务（托管实体）：实体通过 {@link ShardedTask#add} / {@link ShardedTask#remove} 加入和离开，
+     * 可在任意线程调用，每 tick 只访问当前分片
+     * <pre>{@code
+     * ShardedTask<Player> scoreboards = scheduler.runSharded(this::updateScoreboard, 20);
+     * // PlayerJoinEvent / PlayerQuitEvent 中
+     * scoreboards.add(player);
+     * scoreboards.remove(player);
+     * }</pre>
+     * @param action 对每个实体执行的操作
+     * @param periodTicks 周期（tick）
+     * @return ShardedTask 任务句柄
+     */
+    @NotNull
+    default <E extends Entity> ShardedTask<E> runSharded(@NotNull Consumer<? super E> action, int periodTicks) {
+        return ShardedTask.start(this, null, Entity::getUniqueId, action, periodTicks, true);
+    }
+
+    /**
+     * 分片执行周期任务（托管的非实体元素，在全局上下文中执行）
+     * @param keyFunction 元素的 UUID，决定元素所属分片
+     * @param action 对每个元素执行的操作
+     * @param periodTicks 周期（tick）
+     * @return ShardedTask 任务句柄
+     */
+    @NotNull
+    default <T> ShardedTask<T> runSharded(@NotNull Function<? super T, UUID> keyFunction, @NotNull Consumer<? super T> action,
+                                          int periodTicks) {
+        return ShardedTask.start(this, null, keyFunction, action, periodTicks, false);
+    }
+
+    // ========= 区块加载 ==========
+
+    /**
+     * 批量加载区块，由坐标中心向外加载
+     * @param world 世界
+     * @param chunks 区块坐标
+     * @return 全部加载完成时完成的 Future，结果与传入顺序一致
+     */
+    @NotNull
+    default CompletableFuture<List<Chunk>> loadChunksAsync(@NotNull World world, @NotNull Collection<ChunkPos> chunks) {
+        return loadChunksAsync(world, chunks, null);
+    }
+
+    /**
+     * 批量加载区块，由近到远加载
+     * <p>
+     * Paper/Folia 使用异步区块 API 并限制同时进行的请求数，Future 在加载最后一个区块的线程上完成
+     * （Folia 上为该区块所在的区域线程）；Spigot 在主线程上按每 tick 预算同步加载。
+     * 加载完成后区块仍可能被服务器卸载，需要长期保持时请自行添加区块票据。
+     * </p>
+     * @param world 世界
+     * @param chunks 区块坐标
+     * @param origin 起点，为 null 时取所有坐标的中心
+     * @return 全部加载完成时完成的 Future，结果与传入顺序一致
+     */
+    @NotNull
+    default CompletableFuture<List<Chunk>> loadChunksAsync(@NotNull World world, @NotNull Collection<ChunkPos> chunks, @Nullable ChunkPos origin) {
+        return ChunkLoader.loadBudgeted(this, world, chunks, origin, ChunkLoader.DEFAULT_SYNC_BUDGET_NANOS);
+    }
+
+    // ========= CompletableFuture 风格 API ==========
+
+    /**
+     * 异步线程池执行器，可直接用于 {@code thenApplyAsync(fn, executor)} 等方法
+     * @return Executor 异步执行器
+     */
+    default Executor asyncExecutor() {
+        return this::runAsync;
+    }
+
+    /**
+     * 全局上下文执行器（Spigot/Paper 主线程，Folia 全局区域）
+     * @return Executor 全局执行器
+     */
+    default Executor globalExecutor() {
+        return this::runTask;
+    }
+
+    /**
+     * 位置所属区域的执行器（Spigot/Paper 上即主线程）
+     * @param location 位置
+     * @return Executor 区域执行器
+     */
+    default Executor regionExecutor(@NotNull Location location) {
+        Location target = location.clone();
+        return runnable -> runTask(target, runnable);
+    }
+
+    /**
+     * 实体所属区域的执行器，任务跟随实体所在区域执行
+     * <p>
+     * 实体已被移除时，Folia 上提交会抛出 {@link RejectedExecutionException}，
+     * 在 CompletableFuture 链中表现为该阶段异常完成。
+     * 任务排队期间实体被移除时按 {@link #rejectRetired} 处理：{@link Future} 类型的任务被取消，其他任务记录警告后丢弃。
+     * CompletableFuture 的 {@code *Async} 阶段无法从外部结束，依赖实体的阶段应通过
+     * {@code thenCompose(v -> scheduler.supplyFor(entity, ...))} 接入，实体被移除时异常完成。
+     * </p>
+     * @param entity 实体
+     * @return Executor 实体执行器
+     */
+    default Executor entityExecutor(@NotNull Entity entity) {
+        return runnable -> runTask(entity, runnable);
+    }
+
+    /**
+     * 在异步线程中计算结果
+     * @param supplier 结果提供者
+     * @return CompletableFuture 计算完成时完成
+     */
+    default <T> CompletableFuture<T> supplyAsync(@NotNull Supplier<T> supplier) {
+        return supplyOn(asyncExecutor(), supplier);
+    }
+
+    /**
+     * 在全局上下文中计算结果
+     * @param supplier 结果提供者
+     * @return CompletableFuture 计算完成时完成
+     */
+    default <T> CompletableFuture<T> supplySync(@NotNull Supplier<T> supplier) {
+        return supplyOn(globalExecutor(), supplier);
+    }
+
+    /**
+     * 在位置所属区域中计算结果
+     * @param location 位置
+     * @param supplier 结果提供者
+     * @return CompletableFuture 计算完成时完成
+     */
+    default <T> CompletableFuture<T> supplyAt(@NotNull Location location, @NotNull Supplier<T> supplier) {
+        return supplyOn(regionExecutor(location), supplier);
+    }
+
+    /**
+     * 在实体所属区域中计算结果
+     * @param entity 实体
+     * @param supplier 结果提供者
+     * @return CompletableFuture 计算完成时完成；实体已被移除时异常完成
+     */
+    default <T> CompletableFuture<T> supplyFor(@NotNull Entity entity, @NotNull Supplier<T> supplier) {
+        return supplyOn(entityExecutor(entity), supplier);
+    }
+
+    /**
+     * 使用指定执行器计算结果，执行器拒绝任务时返回异常完成的 Future 而不是直接抛出
+     * @param executor 执行器
+     * @param supplier 结果提供者
+     * @return CompletableFuture 计算完成时完成
+     */
+    static <T> CompletableFuture<T> supplyOn(@NotNull Executor executor, @NotNull Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    /**
+     * 结束因实体被移除而无法执行的任务，供平台实现作为实体任务的 retired 回调
+     * <p>
+     * {@link Future} 类型的任务被取消，等待方不会挂起；其他任务（包括 CompletableFuture 的异步阶段）
+     * 无法从外部结束，记录警告后丢弃。
+     * </p>
+     * @param plugin 插件实例
+     * @param entity 已被移除的实体
+     * @param work 排队中的任务
+     */
+    static void rejectRetired(@NotNull Plugin plugin, @NotNull Entity entity, @NotNull Runnable work) {
+        if (work instanceof Future && !(work instanceof CompletableFuture.AsynchronousCompletionTask)) {
+            ((Future<?>) work).cancel(false);
+            return;
+        }
+        plugin.getLogger().warning("Dropped task queued for removed entity " + entity.getUniqueId() + ": " + work
+                + (work instanceof CompletableFuture.AsynchronousCompletionTask
+                ? " (CompletableFuture stages depending on an entity should use supplyFor)" : ""));
+    }
 
     /**
      * 将非法延迟值钳制为合法值（小于等于 0 视为 1 tick）
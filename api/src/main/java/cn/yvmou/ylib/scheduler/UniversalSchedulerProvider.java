@@ -15,4 +15,11 @@ public interface UniversalSchedulerProvider {
     ServerType getServerType();
 
     UniversalScheduler create(Plugin plugin);
+
+    /**
+     * 使用指定选项创建调度器，未覆盖时忽略选项
+     */
+    default UniversalScheduler create(Plugin plugin, SchedulerOptions options) {
+        return create(plugin);
+    }
 }
@@ -0,0 +1,30 @@
+package cn.yvmou.ylib.scheduler;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 虚拟线程支持（Java 8 - 20 版本）
+ * <p>
+ * Java 21+ 使用多版本 jar 中 {@code META-INF/versions/21} 下的实现。
+ * </p>
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * 创建每任务一个虚拟线程的执行器
+     * @param namePrefix 线程名前缀
+     */
+    static Executor newExecutor(String namePrefix) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21+");
+    }
+}
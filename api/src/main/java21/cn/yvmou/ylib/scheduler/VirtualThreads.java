@@ -0,0 +1,28 @@
+package cn.yvmou.ylib.scheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程支持（Java 21+ 版本）
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * 创建每任务一个虚拟线程的执行器
+     * @param namePrefix 线程名前缀
+     */
+    static Executor newExecutor(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix + "-", 0).factory());
+    }
+}
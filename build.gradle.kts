@@ -10,6 +10,10 @@ tasks.shadowJar {
     archiveClassifier.set("")
     // 合并各模块的 META-INF/services 文件，保证 ServiceLoader 在聚合 jar 中正常工作
     mergeServiceFiles()
+    // api 模块包含 META-INF/versions/21 下的类，聚合 jar 同样需要声明为多版本 jar
+    manifest {
+        attributes("Multi-Release" to "true")
+    }
     // 排除签名文件，避免冲突
     //exclude("META-INF/*.SF", "META-INF/*.DSA", "META-INF/*.RSA")
 }
@@ -22,7 +26,8 @@ tasks.jar {
 // 注册聚合源码的任务
 val sourcesJar by tasks.registering(Jar::class) {
     archiveClassifier.set("sources")
-    val sources = subprojects.map { it.sourceSets.main.get().allSource }
+    // 模拟平台只用于测试，不随聚合 jar 发布
+    val sources = subprojects.filter { it.path != ":platform:simulated" }.map { it.sourceSets.main.get().allSource }
     from(sources)
     duplicatesStrategy = DuplicatesStrategy.EXCLUDE
 }
@@ -2,4 +2,13 @@ dependencies {
     implementation(project(":api"))
 
     compileOnly("org.spigotmc:spigot-api:1.19.4-R0.1-SNAPSHOT")
-}
\ No newline at end of file
+
+    // 模拟平台随模块传递 Bukkit API，测试无需服务端
+    testImplementation(project(":platform:simulated"))
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
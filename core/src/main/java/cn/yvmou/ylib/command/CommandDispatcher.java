@@ -2,6 +2,7 @@ package cn.yvmou.ylib.command;
 
 import cn.yvmou.ylib.YLib;
 import cn.yvmou.ylib.command.args.Argument;
+import cn.yvmou.ylib.command.audit.CommandAuditLog;
 import cn.yvmou.ylib.command.context.CommandContext;
 import cn.yvmou.ylib.command.exception.CommandParseException;
 import cn.yvmou.ylib.command.exception.CommandValidationException;
@@ -9,17 +10,53 @@ import cn.yvmou.ylib.command.tree.CommandNode;
 import org.bukkit.command.CommandSender;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CommandDispatcher {
+    // 审计日志，未启用时为 null
+    private volatile CommandAuditLog auditLog;
+
+    // 已编译的命令树：根节点 -> (可走快速路径的终点节点 -> 快速路径)
+    private final Map<CommandNode, Map<CommandNode, FastPath>> compiledTrees = new ConcurrentHashMap<>();
+
+    /**
+     * 预编译命令树的快速路径
+     * <p>
+     * 快速路径覆盖"全部由字面量组成、终点节点可执行且没有参数子节点"的命令（如 /cmd reload），
+     * 执行时只做一次字面量匹配，再按编译好的节点链做权限检查，不创建参数表、参数列表，也不做默认值填充。
+     * 命令树结构或启用状态变化（如重载 commands.yml）后需要重新编译。
+     * </p>
+     * @param root 已应用配置的根节点
+     */
+    public void compile(CommandNode root) {
+        Map<CommandNode, FastPath> fastPaths = new IdentityHashMap<>();
+        collectFastPaths(root, root.getLiteral(), new ArrayList<>(), fastPaths);
+        compiledTrees.put(root, fastPaths);
+    }
+
     // 当前传入的 root 命令节点已应用配置(commands.yml)覆盖（别名、描述、权限）
-    public void execute(CommandNode root, CommandSender sender, String[] args, String label) throws Exception {
+    // 返回执行时使用的上下文；因权限或需求不满足而未执行时返回 null
+    public CommandContext execute(CommandNode root, CommandSender sender, String[] args, String label) throws Exception {
+        // 快速路径：纯字面量命令
+        Map<CommandNode, FastPath> fastPaths = compiledTrees.get(root);
+        if (fastPaths != null) {
+            CommandNode terminal = matchLiterals(root, args);
+            if (terminal != null && terminal.getExecutor() != null) {
+                FastPath fastPath = fastPaths.get(terminal);
+                if (fastPath != null) {
+                    return executeFast(root, sender, args, label, fastPath);
+                }
+            }
+        }
+
         Map<String, Object> parsedArgs = new HashMap<>();
         List<Argument<?>> parsedArguments = new ArrayList<>(); // Track parsed arguments for validation
+        StringBuilder path = new StringBuilder(root.getLiteral());
         CommandNode currentNode = root;
         int argIndex = 0;
 
         // 首先对根节点命令进行权限和需求检查
-        if (!validatePermissionAndConditions(sender, root)) return;
+        if (!validatePermissionAndConditions(sender, root)) return null;
 
         // 遍历参数
         while (argIndex < args.length) {
@@ -34,8 +71,9 @@ public class CommandDispatcher {
                 // 1. 匹配 Literal
                 if (child.isLiteral() && child.getLiteral().equalsIgnoreCase(currentArg)) {
                     // 权限和需求检查
-                    if (!validatePermissionAndConditions(sender, child)) return;
+                    if (!validatePermissionAndConditions(sender, child)) return null;
 
+                    path.append(' ').append(child.getLiteral());
                     currentNode = child;
                     matched = true;
                     argIndex++;
@@ -46,7 +84,7 @@ public class CommandDispatcher {
                 if (child.isArgument()) {
                     try {
                         // 权限和需求检查
-                        if (!validatePermissionAndConditions(sender, child)) return;
+                        if (!validatePermissionAndConditions(sender, child)) return null;
 
                         // 解析参数
                         Argument<?> argument = child.getArgument();
@@ -86,13 +124,14 @@ public class CommandDispatcher {
         }
 
         // 构建上下文
-        CommandContext context = new CommandContext(sender, parsedArgs, args, label);
+        CommandContext context = new CommandContext(sender, parsedArgs, args, label, path.toString());
         
         // 执行验证器 (Post-parsing validation)
         validateArguments(context, parsedArguments);
 
         // 执行命令
         currentNode.getExecutor().execute(sender, context);
+        return context;
     }
 
     public List<String> tabComplete(CommandNode root, CommandSender sender, String[] args) {
@@ -161,12 +200,80 @@ public class CommandDispatcher {
         return completions;
     }
 
+    public CommandAuditLog getAuditLog() {
+        return auditLog;
+    }
+
+    public void setAuditLog(CommandAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
     /*
        ┌─────────────────────────────────────────────────────────────────┐
        │  私有方法 | Private Method
        └─────────────────────────────────────────────────────────────────┘
      */
 
+    private static void collectFastPaths(CommandNode node, String path, List<CommandNode> chain, Map<CommandNode, FastPath> fastPaths) {
+        boolean hasArgumentChild = false;
+        for (CommandNode child : node.getChildren()) {
+            if (child.isArgument()) {
+                hasArgumentChild = true;
+            } else {
+                chain.add(child);
+                collectFastPaths(child, path + " " + child.getLiteral(), chain, fastPaths);
+                chain.remove(chain.size() - 1);
+            }
+        }
+        if (node.getExecutor() != null && !hasArgumentChild) {
+            fastPaths.put(node, new FastPath(path, chain.toArray(new CommandNode[0])));
+        }
+    }
+
+    /**
+     * 按与慢路径相同的顺序匹配字面量；遇到需要尝试解析的参数节点时放弃（返回 null），交给慢路径处理
+     */
+    private static CommandNode matchLiterals(CommandNode root, String[] args) {
+        CommandNode currentNode = root;
+        for (String currentArg : args) {
+            CommandNode next = matchLiteral(currentNode, currentArg);
+            if (next == null) {
+                return null;
+            }
+            currentNode = next;
+        }
+        return currentNode;
+    }
+
+    private static CommandNode matchLiteral(CommandNode node, String currentArg) {
+        List<CommandNode> children = node.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            CommandNode child = children.get(i);
+            if (!child.isEnabled()) continue;
+            if (child.isArgument()) {
+                return null;
+            }
+            if (child.getLiteral().equalsIgnoreCase(currentArg)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private CommandContext executeFast(CommandNode root, CommandSender sender, String[] args, String label, FastPath fastPath) throws Exception {
+        // 权限和需求检查的顺序与慢路径一致：根节点，然后依次是匹配到的字面量（终点节点唯一确定了这条链）
+        if (!validatePermissionAndConditions(sender, root)) return null;
+        CommandNode[] chain = fastPath.chain;
+        for (CommandNode node : chain) {
+            if (!validatePermissionAndConditions(sender, node)) return null;
+        }
+
+        CommandNode terminal = chain.length == 0 ? root : chain[chain.length - 1];
+        CommandContext context = new CommandContext(sender, Collections.emptyMap(), args, label, fastPath.path);
+        terminal.getExecutor().execute(sender, context);
+        return context;
+    }
+
     private boolean validatePermissionAndConditions(CommandSender sender, CommandNode node) {
         if (!hasPermission(sender, node)) {
             YLib.getYLib().getLogger().toLog(sender).error("没有权限执行此命令");
@@ -206,4 +313,17 @@ public class CommandDispatcher {
             }
         }
     }
+
+    /**
+     * 编译好的快速路径：命令路径和从根节点（不含）到终点节点的字面量节点链
+     */
+    private static final class FastPath {
+        final String path;
+        final CommandNode[] chain;
+
+        FastPath(String path, CommandNode[] chain) {
+            this.path = path;
+            this.chain = chain;
+        }
+    }
 }
@@ -1,24 +1,32 @@
 package cn.yvmou.ylib.command;
 
+import cn.yvmou.ylib.YLib;
 import cn.yvmou.ylib.command.annotation.AnnotationParser;
+import cn.yvmou.ylib.command.audit.ArgumentRedactor;
+import cn.yvmou.ylib.command.audit.CommandAuditLog;
 import cn.yvmou.ylib.command.config.CommandConfig;
 import cn.yvmou.ylib.command.config.CommandConfigApplicator;
 import cn.yvmou.ylib.command.config.CommandConfigFile;
 import cn.yvmou.ylib.command.config.CommandConfigLoader;
+import cn.yvmou.ylib.command.help.CommandHelp;
 import cn.yvmou.ylib.command.tree.CommandNode;
 import cn.yvmou.ylib.command.wrapped.WrappedCommand;
 import cn.yvmou.ylib.logger.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CommandManagerImpl implements CommandManager {
     private final Plugin plugin;
@@ -34,6 +42,9 @@ public class CommandManagerImpl implements CommandManager {
     // 存储已注册的命令节点，用于热重载
     private final Map<String, CommandNode> registeredCommands = new HashMap<>();
 
+    // 编译好的帮助，按需生成，命令注册或重载配置后失效
+    private final Map<String, CommandHelp> helpCache = new ConcurrentHashMap<>();
+
     public CommandManagerImpl(Plugin plugin, Logger logger) {
         this.plugin = plugin;
         this.logger = logger;
@@ -86,9 +97,55 @@ public class CommandManagerImpl implements CommandManager {
             }
         }
         
+        // 权限、描述、启用状态可能已改变，帮助和快速路径需要重新编译
+        helpCache.clear();
+        for (CommandNode root : registeredCommands.values()) {
+            dispatcher.compile(root);
+        }
+
         logger.info("Command configurations reloaded.");
     }
 
+    @NotNull
+    @Override
+    public List<String> getHelpPage(@NotNull CommandSender sender, @NotNull String commandName, int page) {
+        CommandHelp help = helpCache.get(commandName);
+        if (help == null) {
+            CommandNode root = registeredCommands.get(commandName);
+            if (root == null) {
+                return Collections.emptyList();
+            }
+            help = CommandHelp.compile(root, CommandHelp.DEFAULT_PAGE_SIZE);
+            helpCache.put(commandName, help);
+        }
+        return help.getPage(sender, page);
+    }
+
+    @Override
+    public synchronized void enableAuditLog(@Nullable ArgumentRedactor redactor) {
+        disableAuditLog();
+        CommandAuditLog auditLog = new CommandAuditLog(plugin.getDataFolder().toPath().resolve("audit"), redactor, logger);
+        auditLog.start(YLib.getYLib().getScheduler());
+        dispatcher.setAuditLog(auditLog);
+        logger.info("Command audit log enabled.");
+    }
+
+    @Override
+    public synchronized void disableAuditLog() {
+        CommandAuditLog auditLog = dispatcher.getAuditLog();
+        if (auditLog != null) {
+            dispatcher.setAuditLog(null);
+            auditLog.close();
+        }
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Object> getAuditStatistics() {
+        CommandAuditLog auditLog = dispatcher.getAuditLog();
+        return auditLog != null ? auditLog.getStatistics() : Collections.emptyMap();
+    }
+
     /*
        ┌─────────────────────────────────────────────────────────────────┐
        │  私有方法 | Private Method
@@ -105,6 +162,7 @@ public class CommandManagerImpl implements CommandManager {
             
             // 记录已注册的命令
             registeredCommands.put(commandName, root);
+            helpCache.remove(commandName);
             
             // 1. 获取或创建配置段，并合并新命令
             ConfigurationSection section = configFile.getCommandSection(commandName);
@@ -184,6 +242,9 @@ public class CommandManagerImpl implements CommandManager {
             CommandMap commandMap = getCommandMap();
             if (commandMap == null) return;
             
+            // 预编译快速路径
+            dispatcher.compile(root);
+
             // 创建包装命令并注册
             WrappedCommand wrappedCommand = new WrappedCommand(root.getLiteral(), root, dispatcher, logger);
             // 同步属性到 Bukkit Command
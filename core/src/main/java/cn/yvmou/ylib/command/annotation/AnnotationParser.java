@@ -186,6 +186,10 @@ public class AnnotationParser {
             if (!argAnnotation.suggestion().isEmpty()) {
                 SuggestionProvider provider = createSuggestionProvider(instance, argAnnotation.suggestion());
                 if (provider != null) {
+                    if (argAnnotation.suggestionCacheTtl() > 0) {
+                        provider = SuggestionProvider.cached(provider, argAnnotation.suggestionCacheTtl(),
+                                argAnnotation.suggestionCacheScope(), argAnnotation.suggestionCacheAsyncRefresh());
+                    }
                     argument.suggests(provider);
                 }
             }
@@ -273,55 +277,56 @@ public class AnnotationParser {
 
     /**
      * 创建命令执行器，负责参数注入与反射调用
+     * <p>
+     * 参数注入方式（发送者 / 上下文 / 参数名与基本类型默认值）在创建时一次性确定，执行时只按下标取值。
+     * </p>
      */
     private static CommandExecutor createExecutor(Object instance, Method method) {
-        return (sender, context) -> {
-            Object[] args = new Object[method.getParameterCount()];
-            Parameter[] parameters = method.getParameters();
+        Parameter[] parameters = method.getParameters();
+        int parameterCount = parameters.length;
+        // 每个参数的注入来源：SENDER、CONTEXT 或参数名
+        Object[] sources = new Object[parameterCount];
+        // 参数值缺失时使用的默认值（仅基本类型非 null）
+        Object[] defaults = new Object[parameterCount];
+
+        for (int i = 0; i < parameterCount; i++) {
+            Parameter param = parameters[i];
+            Class<?> type = param.getType();
+
+            // 注入 CommandSender
+            if (CommandSender.class.isAssignableFrom(type)) {
+                sources[i] = INJECT_SENDER;
+            }
+            // 注入 CommandContext
+            else if (CommandContext.class.isAssignableFrom(type)) {
+                sources[i] = INJECT_CONTEXT;
+            }
+            // 注入 @Arg 参数值
+            else {
+                Arg argAnnotation = param.getAnnotation(Arg.class);
+                sources[i] = (argAnnotation != null) ? argAnnotation.value() : param.getName();
+                defaults[i] = primitiveDefault(type);
+            }
+        }
+        method.setAccessible(true);
 
-            for (int i = 0; i < parameters.length; i++) {
-                Parameter param = parameters[i];
-                Class<?> type = param.getType();
+        return (sender, context) -> {
+            Object[] args = new Object[parameterCount];
 
-                // 注入 CommandSender
-                if (CommandSender.class.isAssignableFrom(type)) {
+            for (int i = 0; i < parameterCount; i++) {
+                Object source = sources[i];
+                if (source == INJECT_SENDER) {
                     args[i] = sender;
-                } 
-                // 注入 CommandContext
-                else if (CommandContext.class.isAssignableFrom(type)) {
+                } else if (source == INJECT_CONTEXT) {
                     args[i] = context;
-                } 
-                // 注入 @Arg 参数值
-                else {
-                    Arg argAnnotation = param.getAnnotation(Arg.class);
-                    String argName = (argAnnotation != null) ? argAnnotation.value() : param.getName();
-
-                    // 尝试从 context 中获取值，如果未提供则为 null
-                    Object value = null;
-                    try {
-                        value = context.get(argName);
-                    } catch (Exception ignored) {
-                        // 可能该参数未被输入，忽略异常
-                    }
-                    
-                    // 如果值为 null，且参数是基本类型，则提供默认值
-                    if (value == null && type.isPrimitive()) {
-                        if (type == int.class) value = 0;
-                        else if (type == double.class) value = 0.0;
-                        else if (type == float.class) value = 0.0f;
-                        else if (type == long.class) value = 0L;
-                        else if (type == boolean.class) value = false;
-                        else if (type == short.class) value = (short) 0;
-                        else if (type == byte.class) value = (byte) 0;
-                        else if (type == char.class) value = '\u0000';
-                    }
-                    
-                    args[i] = value;
+                } else {
+                    // 未提供的参数为 null，基本类型使用默认值
+                    Object value = context.get((String) source);
+                    args[i] = value != null ? value : defaults[i];
                 }
             }
 
             try {
-                method.setAccessible(true);
                 method.invoke(instance, args);
             } catch (java.lang.reflect.InvocationTargetException e) {
                 if (e.getCause() instanceof Exception) {
@@ -333,6 +338,26 @@ public class AnnotationParser {
         };
     }
 
+    // 参数注入来源标记
+    private static final Object INJECT_SENDER = new Object();
+    private static final Object INJECT_CONTEXT = new Object();
+
+    /**
+     * 基本类型的默认值，非基本类型返回 null
+     */
+    private static Object primitiveDefault(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == int.class) return 0;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == long.class) return 0L;
+        if (type == boolean.class) return false;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\u0000';
+        return null;
+    }
+
     /**
      * 创建动态补全提供器
      */
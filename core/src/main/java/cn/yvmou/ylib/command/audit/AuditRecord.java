@@ -0,0 +1,30 @@
+package cn.yvmou.ylib.command.audit;
+
+import cn.yvmou.ylib.command.context.CommandContext;
+import org.bukkit.command.CommandSender;
+
+/**
+ * 一次命令执行的审计记录
+ * <p>
+ * 服务器线程只负责创建记录并放入缓冲区，参数格式化与脱敏都在后台写入线程完成。
+ * </p>
+ */
+final class AuditRecord {
+    final long timestamp;
+    final CommandSender sender;
+    final String label;
+    // 解析失败或权限不足时为 null
+    final CommandContext context;
+    final CommandAuditLog.Result result;
+    final long latencyNanos;
+
+    AuditRecord(long timestamp, CommandSender sender, String label, CommandContext context,
+                CommandAuditLog.Result result, long latencyNanos) {
+        this.timestamp = timestamp;
+        this.sender = sender;
+        this.label = label;
+        this.context = context;
+        this.result = result;
+        this.latencyNanos = latencyNanos;
+    }
+}
@@ -0,0 +1,69 @@
+package cn.yvmou.ylib.command.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者、单消费者）
+ * <pre>
+ *     生产者通过 CAS 抢占 tail 序号后写入槽位；缓冲区已满时 offer 直接返回 false，不阻塞。
+ *     消费者按 head 顺序读取，读到 null 说明该槽位的生产者尚未完成写入，本轮停止。
+ * </pre>
+ * @param <E> 元素类型
+ */
+final class AuditRingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // 只有消费者写入
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 写入元素（任意线程）
+     * @return 缓冲区已满时返回 false
+     */
+    boolean offer(E element) {
+        for (;;) {
+            long current = tail.get();
+            if (current - head > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                slots.lazySet((int) (current & mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 取出元素（仅限单个消费者线程）
+     * @return 没有可读元素时返回 null
+     */
+    E poll() {
+        long current = head;
+        int index = (int) (current & mask);
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head = current + 1;
+        return element;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
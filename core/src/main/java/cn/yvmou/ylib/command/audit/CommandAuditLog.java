@@ -0,0 +1,217 @@
+package cn.yvmou.ylib.command.audit;
+
+import cn.yvmou.ylib.command.context.CommandContext;
+import cn.yvmou.ylib.logger.Logger;
+import cn.yvmou.ylib.scheduler.UniversalScheduler;
+import cn.yvmou.ylib.scheduler.UniversalTask;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 命令执行审计日志
+ * <pre>
+ *     服务器线程调用 {@link #record} 时只创建一条记录并写入有界无锁缓冲区；
+ *     缓冲区满时丢弃并计数，绝不阻塞。
+ *     后台异步定时任务每秒批量取出记录，格式化、脱敏后通过 NIO 追加到滚动日志文件。
+ * </pre>
+ * 日志格式（制表符分隔）：时间 发送者 命令路径 参数 结果 耗时
+ */
+public class CommandAuditLog {
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final long MAX_FILE_BYTES = 16L * 1024 * 1024;
+    private static final long FLUSH_PERIOD_TICKS = 20L;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneId.systemDefault());
+
+    /**
+     * 命令执行结果
+     */
+    public enum Result {
+        /** 执行成功 */
+        SUCCESS,
+        /** 权限或需求不满足 */
+        DENIED,
+        /** 参数解析或验证失败 */
+        REJECTED,
+        /** 执行时抛出异常 */
+        ERROR
+    }
+
+    private final Logger logger;
+    private final ArgumentRedactor redactor;
+    private final AuditRingBuffer<AuditRecord> buffer = new AuditRingBuffer<>(BUFFER_CAPACITY);
+    private final RollingAuditWriter writer;
+    // 保证同一时刻只有一个消费者（异步定时任务可能重叠，关闭时也会最后写一次）
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final StringBuilder line = new StringBuilder(256);
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    private UniversalTask flushTask;
+
+    public CommandAuditLog(@NotNull Path directory, @Nullable ArgumentRedactor redactor, @NotNull Logger logger) {
+        this.logger = logger;
+        this.redactor = redactor;
+        this.writer = new RollingAuditWriter(directory, MAX_FILE_BYTES);
+    }
+
+    /**
+     * 启动后台写入任务
+     */
+    public void start(@NotNull UniversalScheduler scheduler) {
+        flushTask = scheduler.runTimerAsync(this::drain, FLUSH_PERIOD_TICKS, FLUSH_PERIOD_TICKS);
+    }
+
+    /**
+     * 停止后台写入任务，写出剩余记录并关闭文件
+     */
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        drainLock.lock();
+        try {
+            drainLocked();
+            writer.close();
+        } catch (IOException e) {
+            logger.error("Failed to close command audit log: {}", e.getMessage(), e);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * 记录一次命令执行（服务器线程调用，不阻塞）
+     */
+    public void record(@NotNull CommandSender sender, @NotNull String label, @Nullable CommandContext context,
+                       @NotNull Result result, long latencyNanos) {
+        if (buffer.offer(new AuditRecord(System.currentTimeMillis(), sender, label, context, result, latencyNanos))) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 获取审计统计信息
+     */
+    @NotNull
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("recorded", recorded.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("written", written.sum());
+        stats.put("writeFailures", writeFailures.sum());
+        stats.put("pending", buffer.size());
+        stats.put("bufferCapacity", buffer.capacity());
+        stats.put("rotations", writer.getRotations());
+        return stats;
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    private void drain() {
+        if (!drainLock.tryLock()) {
+            return;
+        }
+        try {
+            drainLocked();
+        } catch (IOException e) {
+            writeFailures.increment();
+            logger.error("Failed to write command audit log: {}", e.getMessage(), e);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void drainLocked() throws IOException {
+        StringBuilder batch = new StringBuilder(4096);
+        int count = 0;
+        AuditRecord record;
+        while ((record = buffer.poll()) != null) {
+            format(record, batch);
+            count++;
+            // 单批次过大时先写出，避免一次性占用过多内存
+            if (batch.length() >= 64 * 1024) {
+                flush(batch, count);
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            flush(batch, count);
+        }
+    }
+
+    private void flush(StringBuilder batch, int count) throws IOException {
+        writer.write(ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8)));
+        written.add(count);
+        batch.setLength(0);
+    }
+
+    private void format(AuditRecord record, StringBuilder out) {
+        line.setLength(0);
+        line.append(TIMESTAMP.format(Instant.ofEpochMilli(record.timestamp))).append('\t');
+        line.append(record.sender.getName());
+        if (record.sender instanceof Entity) {
+            line.append('(').append(((Entity) record.sender).getUniqueId()).append(')');
+        }
+        line.append('\t');
+
+        CommandContext context = record.context;
+        String path = context != null ? context.getPath() : record.label;
+        line.append('/').append(path).append('\t');
+
+        line.append('{');
+        if (context != null) {
+            boolean first = true;
+            for (Map.Entry<String, Object> argument : context.arguments().entrySet()) {
+                Object value = argument.getValue();
+                if (redactor != null) {
+                    value = redactor.redact(path, argument.getKey(), value);
+                    if (value == null) continue;
+                }
+                if (!first) line.append(", ");
+                line.append(argument.getKey()).append('=').append(render(value));
+                first = false;
+            }
+        }
+        line.append('}').append('\t');
+
+        line.append(record.result).append('\t');
+        line.append(String.format("%.3fms", record.latencyNanos / 1_000_000.0)).append('\n');
+        out.append(line);
+    }
+
+    private static String render(Object value) {
+        if (value instanceof CommandSender) {
+            return ((CommandSender) value).getName();
+        }
+        if (value instanceof World) {
+            return ((World) value).getName();
+        }
+        // 换行和制表符会破坏行格式
+        return String.valueOf(value).replace('\t', ' ').replace('\n', ' ');
+    }
+}
@@ -0,0 +1,107 @@
+package cn.yvmou.ylib.command.audit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 滚动审计日志文件
+ * <pre>
+ *     始终写入 {@code commands.log}；文件超过大小上限或日期变化时，
+ *     将其重命名为 {@code commands-yyyyMMdd-HHmmss.log} 并压缩为 .gz。
+ * </pre>
+ * 非线程安全，只能由审计写入线程使用。
+ */
+final class RollingAuditWriter {
+    private static final String ACTIVE_FILE = "commands.log";
+    private static final DateTimeFormatter ROTATED_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final Path activeFile;
+    private final long maxBytes;
+
+    private FileChannel channel;
+    private long size;
+    private LocalDate openedOn;
+    private long rotations;
+
+    RollingAuditWriter(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.activeFile = directory.resolve(ACTIVE_FILE);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 写入一批已编码的日志
+     */
+    void write(ByteBuffer batch) throws IOException {
+        if (channel == null) {
+            open();
+        }
+        // 重新打开的旧文件同样需要检查：可能是前一天留下的或已经超过上限
+        if (size >= maxBytes || !LocalDate.now().equals(openedOn)) {
+            rotate();
+        }
+        while (batch.hasRemaining()) {
+            size += channel.write(batch);
+        }
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    long getRotations() {
+        return rotations;
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        channel = FileChannel.open(activeFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+        // 追加到已有文件时按其最后修改日期计算，重启后仍能在日期变化时滚动
+        openedOn = size > 0
+                ? Files.getLastModifiedTime(activeFile).toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
+                : LocalDate.now();
+    }
+
+    private void rotate() throws IOException {
+        close();
+        String baseName = "commands-" + LocalDateTime.now().format(ROTATED_NAME);
+        Path rotated = directory.resolve(baseName + ".log");
+        // 同一秒内多次滚动时追加序号，避免覆盖已压缩的文件
+        for (int i = 1; Files.exists(rotated) || Files.exists(rotated.resolveSibling(rotated.getFileName() + ".gz")); i++) {
+            rotated = directory.resolve(baseName + "-" + i + ".log");
+        }
+        Files.move(activeFile, rotated);
+        open();
+        rotations++;
+        compress(rotated);
+    }
+
+    private void compress(Path source) throws IOException {
+        Path target = source.resolveSibling(source.getFileName() + ".gz");
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), buffer.length)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        Files.delete(source);
+    }
+}
@@ -0,0 +1,204 @@
+package cn.yvmou.ylib.command.help;
+
+import cn.yvmou.ylib.command.args.Argument;
+import cn.yvmou.ylib.command.tree.CommandNode;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 命令帮助 - 由一棵命令树预先编译出的用法与分页帮助
+ * <pre>
+ *     编译时遍历一次命令树，收集所有可执行路径的用法字符串和所需权限。
+ *     渲染好的分页按"发送者拥有哪些权限"（位图）缓存，
+ *     权限组合相同的发送者共享同一份分页，每次请求只需要做 N 次 hasPermission（N 为不同权限的数量）。
+ * </pre>
+ * 注意：{@link CommandNode#requires} 的自定义条件是动态的，不参与帮助过滤。
+ */
+public class CommandHelp {
+    public static final int DEFAULT_PAGE_SIZE = 8;
+
+    private final String commandName;
+    private final int pageSize;
+    private final List<HelpEntry> entries;
+    // 位图下标 -> 权限节点
+    private final String[] permissions;
+    private final Map<BitSet, List<List<String>>> pageCache = new ConcurrentHashMap<>();
+
+    private CommandHelp(String commandName, int pageSize, List<HelpEntry> entries, String[] permissions) {
+        this.commandName = commandName;
+        this.pageSize = pageSize;
+        this.entries = entries;
+        this.permissions = permissions;
+    }
+
+    /**
+     * 编译命令树
+     * @param root 已应用 commands.yml 配置的根节点
+     * @param pageSize 每页条目数
+     * @return 命令帮助
+     */
+    @NotNull
+    public static CommandHelp compile(@NotNull CommandNode root, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        Map<String, Integer> permissionIndex = new LinkedHashMap<>();
+        List<HelpEntry> entries = new ArrayList<>();
+        collect(root, "/" + root.getLiteral(), null, new BitSet(), permissionIndex, entries);
+        return new CommandHelp(root.getLiteral(), pageSize, Collections.unmodifiableList(entries),
+                permissionIndex.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * 获取指定页的帮助（第一行为标题）
+     * @param sender 查看帮助的发送者，只包含其有权限执行的命令
+     * @param page 页码（从 1 开始，超出范围时取最近的页）
+     * @return 渲染好的帮助行
+     */
+    @NotNull
+    public List<String> getPage(@NotNull CommandSender sender, int page) {
+        List<List<String>> pages = getPages(sender);
+        int index = Math.max(1, Math.min(page, pages.size())) - 1;
+        return pages.get(index);
+    }
+
+    /**
+     * 获取发送者可见的总页数
+     * @param sender 查看帮助的发送者
+     * @return 总页数（至少为 1）
+     */
+    public int getPageCount(@NotNull CommandSender sender) {
+        return getPages(sender).size();
+    }
+
+    /**
+     * 获取所有可执行路径的用法字符串（不做权限过滤）
+     * @return 用法列表，如 "/shop buy &lt;target&gt; [amount]"
+     */
+    @NotNull
+    public List<String> getUsages() {
+        List<String> usages = new ArrayList<>(entries.size());
+        for (HelpEntry entry : entries) {
+            usages.add(entry.usage);
+        }
+        return usages;
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    private List<List<String>> getPages(CommandSender sender) {
+        BitSet held = new BitSet(permissions.length);
+        for (int i = 0; i < permissions.length; i++) {
+            if (sender.hasPermission(permissions[i])) {
+                held.set(i);
+            }
+        }
+        List<List<String>> pages = pageCache.get(held);
+        if (pages == null) {
+            pages = render(held);
+            List<List<String>> existing = pageCache.putIfAbsent(held, pages);
+            if (existing != null) {
+                pages = existing;
+            }
+        }
+        return pages;
+    }
+
+    private List<List<String>> render(BitSet held) {
+        List<String> lines = new ArrayList<>();
+        for (HelpEntry entry : entries) {
+            BitSet missing = (BitSet) entry.requiredPermissions.clone();
+            missing.andNot(held);
+            if (missing.isEmpty()) {
+                lines.add(entry.line);
+            }
+        }
+
+        int pageCount = Math.max(1, (lines.size() + pageSize - 1) / pageSize);
+        List<List<String>> pages = new ArrayList<>(pageCount);
+        for (int page = 0; page < pageCount; page++) {
+            List<String> pageLines = new ArrayList<>(pageSize + 1);
+            pageLines.add("§6===== §e/" + commandName + " §6帮助 §7(" + (page + 1) + "/" + pageCount + ") §6=====");
+            int end = Math.min(lines.size(), (page + 1) * pageSize);
+            for (int i = page * pageSize; i < end; i++) {
+                pageLines.add(lines.get(i));
+            }
+            if (lines.isEmpty()) {
+                pageLines.add("§7没有可用的命令");
+            }
+            pages.add(Collections.unmodifiableList(pageLines));
+        }
+        return Collections.unmodifiableList(pages);
+    }
+
+    private static void collect(CommandNode node, String usage, String description, BitSet required,
+                                Map<String, Integer> permissionIndex, List<HelpEntry> entries) {
+        String permission = node.getPermission();
+        if (permission != null && !permission.isEmpty()) {
+            Integer index = permissionIndex.get(permission);
+            if (index == null) {
+                index = permissionIndex.size();
+                permissionIndex.put(permission, index);
+            }
+            required = (BitSet) required.clone();
+            required.set(index);
+        }
+        // 参数节点沿用所在子命令的描述，字面量节点只使用自己的描述
+        if (node.isLiteral() || (node.getDescription() != null && !node.getDescription().isEmpty())) {
+            description = node.getDescription();
+        }
+
+        // 若紧跟着的可选参数节点同样可执行，由它输出带 [参数] 的用法，避免同一命令出现两行
+        if (node.getExecutor() != null && !coveredByOptionalChild(node)) {
+            entries.add(new HelpEntry(usage, description, required));
+        }
+
+        for (CommandNode child : node.getChildren()) {
+            if (!child.isEnabled()) continue;
+            collect(child, usage + " " + token(child), description, required, permissionIndex, entries);
+        }
+    }
+
+    private static boolean coveredByOptionalChild(CommandNode node) {
+        for (CommandNode child : node.getChildren()) {
+            if (child.isEnabled() && child.isArgument() && child.getArgument().isOptional() && child.getExecutor() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String token(CommandNode node) {
+        if (node.isLiteral()) {
+            return node.getLiteral();
+        }
+        Argument<?> argument = node.getArgument();
+        return argument.isOptional() ? "[" + argument.getName() + "]" : "<" + argument.getName() + ">";
+    }
+
+    private static final class HelpEntry {
+        final String usage;
+        final String line;
+        final BitSet requiredPermissions;
+
+        HelpEntry(String usage, String description, BitSet requiredPermissions) {
+            this.usage = usage;
+            this.line = description != null && !description.isEmpty()
+                    ? "§e" + usage + " §7- " + description
+                    : "§e" + usage;
+            this.requiredPermissions = requiredPermissions;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package cn.yvmou.ylib.command.wrapped;
 
 import cn.yvmou.ylib.command.CommandDispatcher;
+import cn.yvmou.ylib.command.audit.CommandAuditLog;
+import cn.yvmou.ylib.command.context.CommandContext;
 import cn.yvmou.ylib.command.exception.CommandParseException;
 import cn.yvmou.ylib.command.exception.CommandValidationException;
 import cn.yvmou.ylib.command.tree.CommandNode;
@@ -26,11 +28,17 @@ public class WrappedCommand extends Command {
 
     @Override
     public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+        CommandAuditLog auditLog = dispatcher.getAuditLog();
+        long start = auditLog != null ? System.nanoTime() : 0L;
+        CommandContext context = null;
+        CommandAuditLog.Result result = CommandAuditLog.Result.ERROR;
         try {
-            dispatcher.execute(rootNode, sender, args, commandLabel);
+            context = dispatcher.execute(rootNode, sender, args, commandLabel);
+            result = context != null ? CommandAuditLog.Result.SUCCESS : CommandAuditLog.Result.DENIED;
             return true;
         } catch (CommandParseException | CommandValidationException e) {
             // 预期内的命令错误（参数错误、验证失败等），直接发给玩家，不记录堆栈
+            result = CommandAuditLog.Result.REJECTED;
             logger.toLog(sender).error(e.getMessage());
             return true;
         } catch (Exception e) {
@@ -38,6 +46,10 @@ public class WrappedCommand extends Command {
             logger.error("Error executing command: " + e.getMessage(), e);
             logger.toLog(sender).error("命令执行期间发生内部错误: " + e.getClass().getSimpleName() + " - " + e.getMessage());
             return true; 
+        } finally {
+            if (auditLog != null) {
+                auditLog.record(sender, rootNode.getLiteral(), context, result, System.nanoTime() - start);
+            }
         }
     }
 
@@ -6,11 +6,9 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
 
 /**
  * Configuration loader.
@@ -46,11 +44,9 @@ public class ConfigurationLoader {
         
         for (ConfigurationMetadata.FieldMetadata fieldMeta : metadata.fields) {
             try {
-                fieldMeta.field.setAccessible(true);
-                
                 if (config.contains(fieldMeta.configPath)) {
                     Object value = config.get(fieldMeta.configPath);
-                    setFieldValue(fieldMeta.field, instance, value);
+                    fieldMeta.set(instance, fieldMeta.convert(value));
                 } else if (fieldMeta.required) {
                     throw new ConfigurationException(
                         metadata.configClass,
@@ -84,8 +80,7 @@ public class ConfigurationLoader {
         
         // Save configuration values to file
         for (ConfigurationMetadata.FieldMetadata fieldMeta : metadata.fields) {
-            fieldMeta.field.setAccessible(true);
-            Object value = fieldMeta.field.get(instance);
+            Object value = fieldMeta.get(instance);
             config.set(fieldMeta.configPath, value);
         }
         
@@ -125,8 +120,7 @@ public class ConfigurationLoader {
             // Add configuration values and comments
             for (ConfigurationMetadata.FieldMetadata fieldMeta : metadata.fields) {
                 try {
-                    fieldMeta.field.setAccessible(true);
-                    Object defaultValue = fieldMeta.field.get(instance);
+                    Object defaultValue = fieldMeta.get(instance);
                     
                     // For enum types, convert to string to avoid YAML type tags
                     Object valueToSet = defaultValue;
@@ -219,54 +213,4 @@ public class ConfigurationLoader {
             }
         }
     }
-
-    /* Set field value, handling type conversion.
-     * If the value is null, the field will be set to null.
-     * If the value type matches the field type, it will be set directly.
-     * Otherwise, the value will be converted to the field type.
-     */
-    private void setFieldValue(@NotNull Field field, @NotNull Object instance, @Nullable Object value) throws IllegalAccessException {
-        Class<?> fieldType = field.getType();
-        
-        if (value == null) {
-            field.set(instance, null);
-            return;
-        }
-        
-        // Type matches, set value directly
-        // eg: fieldType is Integer.class, value is "123"
-        if (fieldType.isAssignableFrom(value.getClass())) {
-            field.set(instance, value);
-            return;
-        }
-        
-        // Type conversion
-        Object convertedValue = convertValue(value, fieldType);
-        field.set(instance, convertedValue);
-    }
-    
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private Object convertValue(@NotNull Object value, @NotNull Class<?> targetType) {
-        if (value == null) return null;
-        
-        String stringValue = value.toString();
-        
-        if (targetType == String.class) {
-            return stringValue;
-        } else if (targetType == int.class || targetType == Integer.class) {
-            return Integer.parseInt(stringValue);
-        } else if (targetType == long.class || targetType == Long.class) {
-            return Long.parseLong(stringValue);
-        } else if (targetType == double.class || targetType == Double.class) {
-            return Double.parseDouble(stringValue);
-        } else if (targetType == boolean.class || targetType == Boolean.class) {
-            return Boolean.parseBoolean(stringValue);
-        } else if (targetType == float.class || targetType == Float.class) {
-            return Float.parseFloat(stringValue);
-        } else if (targetType.isEnum()) {
-            return Enum.valueOf((Class<Enum>) targetType, stringValue.toUpperCase());
-        }
-        
-        return value;
-    }
 }
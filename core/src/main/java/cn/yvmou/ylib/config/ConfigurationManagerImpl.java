@@ -288,10 +288,9 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
         // Copy field values
         for (ConfigurationMetadata.FieldMetadata fieldMeta : metadata.fields) {
             try {
-                Object value = fieldMeta.field.get(source);
-                fieldMeta.field.set(target, value);
+                fieldMeta.set(target, fieldMeta.get(source));
             } catch (IllegalAccessException e) {
-                // Should not happen as we set accessible in parser
+                // Should not happen as accessors are resolved in parser
                 logger.error("Failed to copy field: " + fieldMeta.configPath, e);
             }
         }
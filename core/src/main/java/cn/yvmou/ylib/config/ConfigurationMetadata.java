@@ -1,10 +1,16 @@
 package cn.yvmou.ylib.config;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 配置元数据
@@ -54,13 +60,38 @@ public class ConfigurationMetadata {
     
     /**
      * 字段元数据
+     * <p>
+     * 构造时预先解析字段的读写句柄和类型转换器，加载、保存、验证和复制配置时不再逐字段调用反射。
+     * </p>
      */
     public static class FieldMetadata {
+        private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        // Field#get / Field#set 的句柄，用于无法直接获取字段句柄的字段
+        private static final MethodHandle FIELD_GET;
+        private static final MethodHandle FIELD_SET;
+
+        static {
+            try {
+                FIELD_GET = LOOKUP.findVirtual(Field.class, "get", GETTER_TYPE);
+                FIELD_SET = LOOKUP.findVirtual(Field.class, "set", SETTER_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
         public final Field field;
         public final String configPath;
         public final String description;
         public final boolean required;
         public final String validation;
+
+        // 统一为 (Object)Object 与 (Object, Object)void，静态字段忽略实例参数
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final Function<Object, Object> converter;
         
         /**
          * 构造函数
@@ -78,6 +109,123 @@ public class ConfigurationMetadata {
             this.description = description;
             this.required = required;
             this.validation = validation;
+
+            field.setAccessible(true);
+            this.getter = getterFor(field);
+            this.setter = setterFor(field);
+            this.converter = converterFor(field.getType());
+        }
+
+        /**
+         * 读取字段值
+         *
+         * @param instance 配置实例
+         * @return 字段值
+         * @throws IllegalAccessException 字段不可读
+         * @throws IllegalArgumentException 实例不是字段所属类的实例（与 {@link Field#get} 一致）
+         */
+        @Nullable
+        public Object get(@NotNull Object instance) throws IllegalAccessException {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (ClassCastException e) {
+                // 句柄在类型不匹配时抛出 ClassCastException，保持与 Field#get 相同的异常类型
+                throw new IllegalArgumentException("Cannot get field " + describe() + " from instance of type "
+                        + instance.getClass().getName(), e);
+            } catch (IllegalAccessException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+        /**
+         * 写入字段值（不做类型转换）
+         *
+         * @param instance 配置实例
+         * @param value 字段值
+         * @throws IllegalAccessException 字段不可写（如静态 final 字段）
+         * @throws IllegalArgumentException 值的类型与字段不符，或基本类型字段的值为 null（与 {@link Field#set} 一致）
+         */
+        public void set(@NotNull Object instance, @Nullable Object value) throws IllegalAccessException {
+            try {
+                setter.invokeExact(instance, value);
+            } catch (ClassCastException e) {
+                // 句柄在类型不匹配时抛出 ClassCastException，保持与 Field#set 相同的异常类型
+                throw new IllegalArgumentException("Cannot set field " + describe() + " to value of type "
+                        + (value == null ? "null" : value.getClass().getName()), e);
+            } catch (NullPointerException e) {
+                if (value != null || !field.getType().isPrimitive()) throw e;
+                throw new IllegalArgumentException("Cannot set primitive field " + describe() + " to null", e);
+            } catch (IllegalAccessException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+        /**
+         * 把配置文件中读取的值转换为字段类型
+         *
+         * @param value 配置值
+         * @return 转换后的值；值已是字段类型或无法转换的类型时原样返回
+         */
+        @Nullable
+        public Object convert(@Nullable Object value) {
+            return value == null ? null : converter.apply(value);
+        }
+
+        private String describe() {
+            return field.getDeclaringClass().getName() + "." + field.getName() + " (" + field.getType().getName() + ")";
+        }
+
+        private static MethodHandle getterFor(Field field) {
+            try {
+                MethodHandle handle = LOOKUP.unreflectGetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                return handle.asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                return FIELD_GET.bindTo(field);
+            }
+        }
+
+        private static MethodHandle setterFor(Field field) {
+            try {
+                MethodHandle handle = LOOKUP.unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                return handle.asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                // final 字段没有直接的写句柄，回退到 Field#set（静态 final 字段在写入时抛出异常）
+                return FIELD_SET.bindTo(field);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Function<Object, Object> converterFor(Class<?> type) {
+            Class<?> boxed = type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+            Function<String, Object> parser;
+            if (type == String.class) {
+                parser = string -> string;
+            } else if (boxed == Integer.class) {
+                parser = Integer::parseInt;
+            } else if (boxed == Long.class) {
+                parser = Long::parseLong;
+            } else if (boxed == Double.class) {
+                parser = Double::parseDouble;
+            } else if (boxed == Boolean.class) {
+                parser = Boolean::parseBoolean;
+            } else if (boxed == Float.class) {
+                parser = Float::parseFloat;
+            } else if (type.isEnum()) {
+                parser = string -> Enum.valueOf((Class<Enum>) type, string.toUpperCase());
+            } else {
+                return value -> value;
+            }
+            return value -> boxed.isInstance(value) ? value : parser.apply(value.toString());
         }
     }
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ public class ConfigurationParser {
 
     /**
      * Parses the metadata of a configuration class, including field annotations.
+     * Field accessors and type converters are resolved here once, so loading, saving
+     * and validating the configuration later does not go through reflection per field.
      *
      * @param configClass The configuration class to parse.
      * @return The parsed ConfigurationMetadata.
@@ -24,8 +24,7 @@ public class ConfigurationValidator {
         
         for (ConfigurationMetadata.FieldMetadata fieldMeta : metadata.fields) {
             try {
-                fieldMeta.field.setAccessible(true);
-                Object value = fieldMeta.field.get(instance);
+                Object value = fieldMeta.get(instance);
                 
                 // 检查必需字段
                 if (fieldMeta.required && (value == null || (value instanceof String && ((String) value).isEmpty()))) {
@@ -0,0 +1,90 @@
+package cn.yvmou.ylib.command;
+
+import cn.yvmou.ylib.command.args.Argument;
+import cn.yvmou.ylib.command.context.CommandContext;
+import cn.yvmou.ylib.command.tree.CommandNode;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 快速路径的分配基准：纯字面量命令每次执行只分配一个 CommandContext
+ */
+class CommandDispatcherAllocationTest {
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 100_000;
+    // CommandContext 本身约 32 字节，留出余量但远小于慢路径的参数表和路径拼接
+    private static final long MAX_BYTES_PER_CALL = 64;
+
+    private final CommandSender sender = (CommandSender) Proxy.newProxyInstance(
+            CommandSender.class.getClassLoader(), new Class<?>[]{CommandSender.class},
+            (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            });
+
+    private CommandDispatcher dispatcher;
+    private CommandNode root;
+    private int reloads;
+    private int gives;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new CommandDispatcher();
+        root = CommandNode.literal("ylib")
+                .then(CommandNode.literal("admin")
+                        .then(CommandNode.literal("reload").executes((s, c) -> reloads++)))
+                .then(CommandNode.literal("give")
+                        .then(CommandNode.argument(Argument.integer("amount")).executes((s, c) -> gives++)));
+        dispatcher.compile(root);
+    }
+
+    @Test
+    void fastPathResolvesLiteralCommand() throws Exception {
+        CommandContext context = dispatcher.execute(root, sender, new String[]{"ADMIN", "reload"}, "ylib");
+
+        assertNotNull(context);
+        assertEquals("ylib admin reload", context.getPath());
+        assertTrue(context.arguments().isEmpty());
+        assertEquals(1, reloads);
+    }
+
+    @Test
+    void argumentCommandsUseSlowPath() throws Exception {
+        CommandContext context = dispatcher.execute(root, sender, new String[]{"give", "5"}, "ylib");
+
+        assertNotNull(context);
+        assertEquals("ylib give", context.getPath());
+        assertEquals(Integer.valueOf(5), context.get("amount"));
+        assertEquals(1, gives);
+    }
+
+    @Test
+    void fastPathAllocatesOnlyTheContext() throws Exception {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        String[] args = {"admin", "reload"};
+        for (int i = 0; i < WARMUP; i++) {
+            dispatcher.execute(root, sender, args, "ylib");
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            dispatcher.execute(root, sender, args, "ylib");
+        }
+        long perCall = (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+
+        assertEquals(WARMUP + ITERATIONS, reloads);
+        assertTrue(perCall <= MAX_BYTES_PER_CALL, "fast path allocated " + perCall + " bytes per call");
+    }
+}
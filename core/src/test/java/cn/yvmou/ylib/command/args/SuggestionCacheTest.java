@@ -0,0 +1,73 @@
+package cn.yvmou.ylib.command.args;
+
+import cn.yvmou.ylib.command.context.CommandContext;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 补全缓存：默认作用域逐字输入时只加载一次，按输入区分的作用域把当前输入原样传给补全方法
+ */
+class SuggestionCacheTest {
+    private static final List<String> NAMES = Arrays.asList("Steve", "stone", "Alex");
+
+    private final CommandSender sender = (CommandSender) Proxy.newProxyInstance(
+            CommandSender.class.getClassLoader(), new Class<?>[]{CommandSender.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("getName")) return "console";
+                throw new UnsupportedOperationException(method.getName());
+            });
+
+    private final List<String> loads = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void typingAPrefixLoadsTheFullListOnce() {
+        SuggestionProvider provider = SuggestionProvider.cached(this::names, 60_000);
+
+        assertEquals(NAMES, suggest(provider, "join", ""));
+        assertEquals(Arrays.asList("Steve", "stone"), suggest(provider, "join", "S"));
+        assertEquals(Arrays.asList("Steve", "stone"), suggest(provider, "join", "st"));
+        assertEquals(Collections.singletonList("Steve"), suggest(provider, "join", "Ste"));
+
+        assertEquals(Collections.singletonList(""), loads);
+    }
+
+    @Test
+    void previousArgumentsAndSendersAreCachedSeparately() {
+        SuggestionProvider provider = SuggestionProvider.cached(this::names, 60_000, SuggestionProvider.CacheScope.SENDER);
+
+        suggest(provider, "red", "S");
+        suggest(provider, "red", "St");
+        suggest(provider, "blue", "S");
+
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void byInputScopePassesTheInputThrough() {
+        SuggestionProvider provider = SuggestionProvider.cached(this::names, 60_000, SuggestionProvider.CacheScope.GLOBAL_BY_INPUT);
+
+        suggest(provider, "join", "S");
+        suggest(provider, "join", "St");
+        suggest(provider, "join", "St");
+
+        assertEquals(Arrays.asList("S", "St"), loads);
+    }
+
+    private List<String> suggest(SuggestionProvider provider, String previous, String input) {
+        CommandContext context = new CommandContext(sender, null, new String[]{previous, input}, "arena");
+        return provider.suggest(sender, context, input);
+    }
+
+    private List<String> names(CommandSender sender, CommandContext context, String input) {
+        loads.add(input);
+        return NAMES;
+    }
+}
@@ -0,0 +1,63 @@
+package cn.yvmou.ylib.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 字段句柄在值类型不符时抛出与 Field#set 相同的 IllegalArgumentException
+ */
+class ConfigurationMetadataTest {
+
+    static class Sample {
+        int count = 1;
+        String name = "default";
+    }
+
+    @Test
+    void setWritesConvertedValues() throws Exception {
+        Sample sample = new Sample();
+        ConfigurationMetadata.FieldMetadata count = field("count");
+
+        count.set(sample, count.convert("42"));
+
+        assertEquals(42, sample.count);
+        assertEquals(42, count.get(sample));
+    }
+
+    @Test
+    void mistypedValueIsRejectedAsIllegalArgument() throws Exception {
+        Sample sample = new Sample();
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> field("name").set(sample, 42));
+
+        assertTrue(failure.getMessage().contains("name"), failure.getMessage());
+        assertTrue(failure.getMessage().contains("java.lang.Integer"), failure.getMessage());
+        assertEquals("default", sample.name);
+    }
+
+    @Test
+    void nullOnPrimitiveFieldIsRejectedAsIllegalArgument() throws Exception {
+        Sample sample = new Sample();
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> field("count").set(sample, null));
+
+        assertTrue(failure.getMessage().contains("count"), failure.getMessage());
+        assertEquals(1, sample.count);
+    }
+
+    @Test
+    void nullOnReferenceFieldIsAllowed() throws Exception {
+        Sample sample = new Sample();
+
+        field("name").set(sample, null);
+
+        assertNull(sample.name);
+    }
+
+    private static ConfigurationMetadata.FieldMetadata field(String name) throws NoSuchFieldException {
+        return new ConfigurationMetadata.FieldMetadata(Sample.class.getDeclaredField(name), name, "", false, "");
+    }
+}
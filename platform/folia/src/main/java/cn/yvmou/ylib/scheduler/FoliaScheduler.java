@@ -3,12 +3,26 @@ package cn.yvmou.ylib.scheduler;
 import cn.yvmou.ylib.scheduler.UniversalScheduler;
 import cn.yvmou.ylib.scheduler.UniversalTask;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 /**
  * Folia调度器管理器实现
  *
@@ -21,16 +35,28 @@ public class FoliaScheduler implements UniversalScheduler {
     private final io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler globalRegionScheduler;
     private final io.papermc.paper.threadedregions.scheduler.RegionScheduler regionScheduler;
     private final io.papermc.paper.threadedregions.scheduler.AsyncScheduler asyncScheduler;
+    // 自定义异步后端，使用服务端异步调度器时为 null
+    private final AsyncDispatcher asyncDispatcher;
 
     /**
      * 构造函数
      * @param plugin 插件实例
      */
     public FoliaScheduler(Plugin plugin) {
+        this(plugin, new SchedulerOptions());
+    }
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param options 调度器选项
+     */
+    public FoliaScheduler(Plugin plugin, SchedulerOptions options) {
         this.plugin = plugin;
         this.globalRegionScheduler = Bukkit.getGlobalRegionScheduler();
         this.regionScheduler = Bukkit.getRegionScheduler();
         this.asyncScheduler = Bukkit.getAsyncScheduler();
+        this.asyncDispatcher = AsyncDispatcher.create(plugin, options);
     }
 
     @Override
@@ -69,6 +95,16 @@ public class FoliaScheduler implements UniversalScheduler {
         return new FoliaTask(entity.getScheduler().run(plugin, task -> runnable.run(), null), false);
     }
 
+    @Override
+    public UniversalTask runTask(Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired) {
+        return new FoliaTask(entity.getScheduler().run(plugin, task -> runnable.run(), retired), false);
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired) {
+        return new FoliaTask(entity.getScheduler().run(plugin, task -> runnable.run(), retired), false);
+    }
+
     @Override
     public UniversalTask runLater(@NotNull Runnable runnable, long delay) {
         delay = UniversalScheduler.clampDelay(delay);
@@ -105,6 +141,18 @@ public class FoliaScheduler implements UniversalScheduler {
         return new FoliaTask(entity.getScheduler().runDelayed(plugin, task -> runnable.run(), null, delay), false);
     }
 
+    @Override
+    public UniversalTask runLater(Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired, long delay) {
+        delay = UniversalScheduler.clampDelay(delay);
+        return new FoliaTask(entity.getScheduler().runDelayed(plugin, task -> runnable.run(), retired, delay), false);
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired, long delay) {
+        delay = UniversalScheduler.clampDelay(delay);
+        return new FoliaTask(entity.getScheduler().runDelayed(plugin, task -> runnable.run(), retired, delay), false);
+    }
+
     @Override
     public UniversalTask runTimer(@NotNull Runnable runnable, long delay, long period) {
         delay = UniversalScheduler.clampDelay(delay);
@@ -149,11 +197,17 @@ public class FoliaScheduler implements UniversalScheduler {
 
     @Override
     public UniversalTask runAsync(@NotNull Runnable runnable) {
+        if (asyncDispatcher != null) {
+            return asyncDispatcher.submit(plugin, runnable);
+        }
         return new FoliaTask(asyncScheduler.runNow(plugin, task -> runnable.run()), true);
     }
 
     @Override
     public UniversalTask runAsync(Plugin plugin, @NotNull Runnable runnable) {
+        if (asyncDispatcher != null) {
+            return asyncDispatcher.submit(plugin, runnable);
+        }
         return new FoliaTask(asyncScheduler.runNow(plugin, task -> runnable.run()), true);
     }
 
@@ -187,6 +241,9 @@ public class FoliaScheduler implements UniversalScheduler {
     public void cancelAllTasks(Plugin plugin) {
         globalRegionScheduler.cancelTasks(plugin);
         asyncScheduler.cancelTasks(plugin);
+        if (asyncDispatcher != null) {
+            asyncDispatcher.cancelAll(plugin);
+        }
     }
 
     @Override
@@ -197,7 +254,157 @@ public class FoliaScheduler implements UniversalScheduler {
     }
 
     @Override
-    public void teleportAsync(Entity entity, Location location) {
-        entity.teleportAsync(location);
+    public boolean isGlobalThread() {
+        return Bukkit.isGlobalTickThread();
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(@NotNull Location location) {
+        return Bukkit.isOwnedByCurrentRegion(location);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(@NotNull Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    @Override
+    public CompletableFuture<List<Chunk>> loadChunksAsync(@NotNull World world, @NotNull Collection<ChunkPos> chunks, @Nullable ChunkPos origin) {
+        // 同步加载在 Folia 上不可用（需要在区块所属区域线程调用），只能使用异步 API
+        return ChunkLoader.loadAsync(chunks, origin, ChunkLoader.DEFAULT_CONCURRENCY,
+                pos -> world.getChunkAtAsync(pos.getX(), pos.getZ()));
+    }
+
+    @Override
+    public <E extends Entity> CompletableFuture<Void> forEachEntity(@NotNull Collection<? extends E> entities, @NotNull Consumer<? super E> action) {
+        Map<SectionKey, RegionGroup<E>> groups = new HashMap<>();
+        for (E entity : entities) {
+            // 调用线程不拥有实体，读到的位置可能已过时：分组只是减少任务数量的提示，执行时会重新检查归属
+            Location location = entity.getLocation();
+            groups.computeIfAbsent(SectionKey.of(location), key -> new RegionGroup<>(location)).targets.add(entity);
+        }
+
+        BulkCompletion completion = new BulkCompletion(groups.size());
+        for (RegionGroup<E> group : groups.values()) {
+            Location anchor = group.anchor;
+            regionScheduler.execute(plugin, anchor.getWorld(), anchor.getBlockX() >> 4, anchor.getBlockZ() >> 4, () -> {
+                for (E entity : group.targets) {
+                    if (isOwnedByCurrentRegion(entity)) {
+                        completion.apply(entity, action);
+                        continue;
+                    }
+                    // 分组后实体已移动到其他区域，改由实体调度器执行；实体已被移除时跳过
+                    completion.fork();
+                    io.papermc.paper.threadedregions.scheduler.ScheduledTask scheduled = entity.getScheduler().run(plugin, task -> {
+                        completion.apply(entity, action);
+                        completion.done();
+                    }, completion::done);
+                    if (scheduled == null) {
+                        completion.done();
+                    }
+                }
+                completion.done();
+            });
+        }
+        return completion.future();
+    }
+
+    @Override
+    public CompletableFuture<Void> forEachLocation(@NotNull Collection<? extends Location> locations, @NotNull Consumer<? super Location> action) {
+        Map<SectionKey, RegionGroup<Location>> groups = new HashMap<>();
+        for (Location location : locations) {
+            groups.computeIfAbsent(SectionKey.of(location), key -> new RegionGroup<>(location)).targets.add(location);
+        }
+
+        BulkCompletion completion = new BulkCompletion(groups.size());
+        for (RegionGroup<Location> group : groups.values()) {
+            Location anchor = group.anchor;
+            regionScheduler.execute(plugin, anchor.getWorld(), anchor.getBlockX() >> 4, anchor.getBlockZ() >> 4, () -> {
+                for (Location location : group.targets) {
+                    // 同一区域段内的区块始终属于同一个区域；区域段大小无法读取时按默认值分组，不属于当前区域的位置单独提交
+                    if (isOwnedByCurrentRegion(location)) {
+                        completion.apply(location, action);
+                        continue;
+                    }
+                    completion.fork();
+                    regionScheduler.execute(plugin, location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4, () -> {
+                        completion.apply(location, action);
+                        completion.done();
+                    });
+                }
+                completion.done();
+            });
+        }
+        return completion.future();
+    }
+
+    @Override
+    public Executor entityExecutor(@NotNull Entity entity) {
+        return runnable -> {
+            // 实体已被移除时 Folia 返回 null，任务永远不会执行，直接拒绝以免 Future 悬挂；排队期间被移除时由 retired 回调结束任务
+            if (entity.getScheduler().run(plugin, task -> runnable.run(),
+                    () -> UniversalScheduler.rejectRetired(plugin, entity, runnable)) == null) {
+                throw new RejectedExecutionException("Entity has been removed: " + entity.getUniqueId());
+            }
+        };
+    }
+
+    @Override
+    public <T> CompletableFuture<T> supplyFor(@NotNull Entity entity, @NotNull Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // 任务排队期间实体被移除时由 retired 回调结束 Future
+        Runnable retired = () -> future.completeExceptionally(
+                new RejectedExecutionException("Entity has been removed: " + entity.getUniqueId()));
+        io.papermc.paper.threadedregions.scheduler.ScheduledTask scheduled = entity.getScheduler().run(plugin, task -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, retired);
+        if (scheduled == null) {
+            retired.run();
+        }
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> teleportAsync(Entity entity, Location location) {
+        return entity.teleportAsync(location);
+    }
+
+    /**
+     * Folia 区域段：同一区域段始终属于同一个区域
+     */
+    private record SectionKey(UUID world, int x, int z) {
+        // 区域段边长（区块）的以 2 为底的对数，由服务端配置决定，默认 4（16×16 区块）
+        private static final int SECTION_SHIFT = resolveSectionShift();
+
+        static SectionKey of(Location location) {
+            return new SectionKey(location.getWorld().getUID(),
+                    (location.getBlockX() >> 4) >> SECTION_SHIFT, (location.getBlockZ() >> 4) >> SECTION_SHIFT);
+        }
+
+        /**
+         * 读取服务端实际使用的区域段大小（服务端内部 API，不存在时使用默认值）
+         */
+        private static int resolveSectionShift() {
+            try {
+                Object shift = Class.forName("io.papermc.paper.threadedregions.TickRegions")
+                        .getMethod("getRegionChunkShift").invoke(null);
+                return (Integer) shift;
+            } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+                return 4;
+            }
+        }
+    }
+
+    private static final class RegionGroup<T> {
+        private final Location anchor;
+        private final List<T> targets = new ArrayList<>();
+
+        private RegionGroup(Location anchor) {
+            this.anchor = anchor;
+        }
     }
 }
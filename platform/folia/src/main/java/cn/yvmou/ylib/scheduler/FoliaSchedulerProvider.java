@@ -17,4 +17,9 @@ public class FoliaSchedulerProvider implements UniversalSchedulerProvider {
     public UniversalScheduler create(Plugin plugin) {
         return new FoliaScheduler(plugin);
     }
+
+    @Override
+    public UniversalScheduler create(Plugin plugin, SchedulerOptions options) {
+        return new FoliaScheduler(plugin, options);
+    }
 }
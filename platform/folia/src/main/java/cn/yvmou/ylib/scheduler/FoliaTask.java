@@ -17,7 +17,7 @@ public class FoliaTask implements UniversalTask {
 
     /**
      * 构造函数
-     * @param task Folia调度任务
+     * @param task Folia调度任务，实体已移除时为 null（视为已取消）
      * @param async 是否为异步任务（由创建方明确指定，不依赖内部类名推断）
      */
     public FoliaTask(ScheduledTask task, boolean async) {
@@ -27,22 +27,25 @@ public class FoliaTask implements UniversalTask {
 
     @Override
     public Plugin getOwningPlugin() {
-        return task.getOwningPlugin();
+        return task == null ? null : task.getOwningPlugin();
     }
 
 
     @Override
     public void cancel() {
-        task.cancel();
+        if (task != null) {
+            task.cancel();
+        }
     }
 
     @Override
     public boolean isCancelled() {
-        return task.isCancelled();
+        return task == null || task.isCancelled();
     }
 
     @Override
     public boolean isCurrentlyRunning() {
+        if (task == null) return false;
         final ScheduledTask.ExecutionState state = task.getExecutionState();
         // The task is considered "currently running" if:
         // - It is actively running (RUNNING), or
@@ -54,7 +57,7 @@ public class FoliaTask implements UniversalTask {
 
     @Override
     public TaskType getType() {
-        if (task.isRepeatingTask()) {
+        if (task != null && task.isRepeatingTask()) {
             return TaskType.REPEATING;
         }
         if (async) {
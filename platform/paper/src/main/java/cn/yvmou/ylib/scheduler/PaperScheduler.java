@@ -1,27 +1,87 @@
 package cn.yvmou.ylib.scheduler;
 
 import cn.yvmou.ylib.scheduler.UniversalScheduler;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Paper调度器管理器实现。
  * <p>
  * Paper（非 Folia）的调度行为与 Spigot 完全一致，全部复用 {@link SpigotScheduler}，
- * 仅异步传送使用 Paper API。
+ * 仅异步传送和 tick 耗时使用 Paper API。
  *
  * @author yvmoux
  * @since 1.0.0
  */
 public class PaperScheduler extends SpigotScheduler implements UniversalScheduler {
 
+    // 所有实例共享一个 tick 监听器；注册它的插件禁用时由 Bukkit 注销，之后由下一个创建的实例重新注册
+    private static volatile TickListener tickListener;
+
     public PaperScheduler(Plugin plugin) {
         super(plugin);
+        registerTickListener(plugin);
+    }
+
+    public PaperScheduler(Plugin plugin, SchedulerOptions options) {
+        super(plugin, options);
+        registerTickListener(plugin);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> teleportAsync(Entity entity, Location location) {
+        return entity.teleportAsync(location);
+    }
+
+    @Override
+    public CompletableFuture<List<Chunk>> loadChunksAsync(World world, Collection<ChunkPos> chunks, ChunkPos origin) {
+        return ChunkLoader.loadAsync(chunks, origin, ChunkLoader.DEFAULT_CONCURRENCY,
+                pos -> world.getChunkAtAsync(pos.getX(), pos.getZ()));
     }
 
     @Override
-    public void teleportAsync(Entity entity, Location location) {
-        entity.teleportAsync(location);
+    public double getTickTimeMillis() {
+        TickListener listener = tickListener;
+        double last = listener != null && listener.owner.isEnabled() ? listener.lastTickMillis : -1;
+        // 没有可用的监听器（插件启用前创建、注册它的插件已禁用）或尚未收到事件时，退回到最近 100 tick 的平均值
+        return last >= 0 ? last : Bukkit.getAverageTickTime();
+    }
+
+    private static void registerTickListener(Plugin plugin) {
+        if (!plugin.isEnabled()) return;
+        synchronized (PaperScheduler.class) {
+            TickListener current = tickListener;
+            if (current != null && current.owner.isEnabled()) return;
+            TickListener listener = new TickListener(plugin);
+            Bukkit.getPluginManager().registerEvents(listener, plugin);
+            tickListener = listener;
+        }
+    }
+
+    private static final class TickListener implements Listener {
+        private final Plugin owner;
+        // 最近一个 tick 的耗时，尚未收到事件时为 -1
+        private volatile double lastTickMillis = -1;
+
+        private TickListener(Plugin owner) {
+            this.owner = owner;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onTickEnd(ServerTickEndEvent event) {
+            lastTickMillis = event.getTickDuration();
+        }
     }
 }
@@ -17,4 +17,9 @@ public class PaperSchedulerProvider implements UniversalSchedulerProvider {
     public UniversalScheduler create(Plugin plugin) {
         return new PaperScheduler(plugin);
     }
+
+    @Override
+    public UniversalScheduler create(Plugin plugin, SchedulerOptions options) {
+        return new PaperScheduler(plugin, options);
+    }
 }
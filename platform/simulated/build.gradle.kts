@@ -0,0 +1,14 @@
+// 虚拟 tick 时钟的调度器实现，供 CI 上无服务器地测试调度功能和基准测试使用，不参与根项目聚合
+dependencies {
+    api(project(":api"))
+
+    // 测试环境没有服务端提供 Bukkit API，需要随模块一起传递
+    api("org.spigotmc:spigot-api:1.19.4-R0.1-SNAPSHOT")
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
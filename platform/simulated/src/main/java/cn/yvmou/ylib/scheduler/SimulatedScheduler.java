@@ -0,0 +1,782 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * 模拟调度器 - 用虚拟 tick 时钟代替服务器，在没有服务端的环境（CI、基准测试）中运行调度功能
+ * <p>
+ * 时间只在调用 {@link #advanceTicks(long)} 时前进，每个虚拟 tick 依次执行三个阶段：
+ * </p>
+ * <ol>
+ *     <li>全局任务：在调用 {@code advanceTicks} 的线程上执行（相当于 Folia 全局区域线程 / Spigot 主线程）。</li>
+ *     <li>区域与实体任务：按区域段（16×16 区块，与 Folia 相同）分组，分配到固定数量的区域工作线程并行执行，
+ *     全部完成后才进入下一阶段；实体任务按执行时实体所在位置分组，实体已失效时执行 retired 回调。</li>
+ *     <li>异步任务：在单独的异步线程上依次执行。</li>
+ * </ol>
+ * <p>
+ * 同一 tick 内的执行顺序是确定的：任务按（到期 tick，序号）排序，序号按"提交时所在任务的序号 + 该任务内的提交次序"分配，
+ * 与工作线程的实际交错无关；同一工作线程上的区域按区域坐标排序。只要测试代码本身是确定的，
+ * 每次运行的执行顺序都相同。在调度器线程之外并发提交任务（如其他线程池的回调）时只保证 tick 边界。
+ * </p>
+ * <p>
+ * 区域线程数为 0 时所有同步任务都在调用线程上执行，{@link #isFolia()} 返回 false，模拟 Spigot/Paper 的单主线程。
+ * </p>
+ *
+ * <pre>{@code
+ * SimulatedScheduler scheduler = new SimulatedScheduler(plugin, 4);
+ * scheduler.runLater(location, () -> counter.incrementAndGet(), 20);
+ * scheduler.advanceTicks(20);
+ * assert counter.get() == 1;
+ * scheduler.shutdown();
+ * }</pre>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class SimulatedScheduler implements UniversalScheduler {
+
+    /** 默认区域工作线程数 */
+    public static final int DEFAULT_REGION_THREADS = 4;
+    // 外部线程提交的任务排在同一 tick 内所有任务提交的任务之前
+    private static final long EXTERNAL = Long.MIN_VALUE;
+
+    private static final Comparator<SimulatedTask> DUE_ORDER = Comparator
+            .<SimulatedTask>comparingLong(task -> task.dueTick)
+            .thenComparingLong(task -> task.sequence);
+    private static final Comparator<SimulatedTask> SUBMIT_ORDER = Comparator
+            .<SimulatedTask>comparingLong(task -> task.origin)
+            .thenComparingLong(task -> task.childIndex);
+
+    private final Plugin plugin;
+    private final int regionThreads;
+    // 区域线程数为 0 时为 null
+    private final ExecutorService regionPool;
+    private final ExecutorService asyncThread;
+
+    private final ConcurrentLinkedQueue<SimulatedTask> inbox = new ConcurrentLinkedQueue<>();
+    private final Set<SimulatedTask> live = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Running> current = new ThreadLocal<>();
+    private final AtomicLong externalIndex = new AtomicLong();
+    private final LongAdder executed = new LongAdder();
+    private final Object tickLock = new Object();
+
+    // 以下字段只由推进 tick 的线程访问
+    private final PriorityQueue<SimulatedTask> queue = new PriorityQueue<>(DUE_ORDER);
+    private long nextSequence;
+
+    // 只由推进 tick 的线程写入，任务线程可读取
+    private volatile long currentTick;
+    private volatile long lastTickNanos = -1;
+    private volatile double simulatedTickMillis = -1;
+    private volatile boolean shutdown;
+
+    /**
+     * 构造函数（{@link #DEFAULT_REGION_THREADS} 个区域线程）
+     * @param plugin 插件实例
+     */
+    public SimulatedScheduler(@NotNull Plugin plugin) {
+        this(plugin, DEFAULT_REGION_THREADS);
+    }
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param regionThreads 区域工作线程数，为 0 时模拟单主线程平台
+     */
+    public SimulatedScheduler(@NotNull Plugin plugin, int regionThreads) {
+        if (regionThreads < 0) {
+            throw new IllegalArgumentException("Region thread count must not be negative: " + regionThreads);
+        }
+        this.plugin = plugin;
+        this.regionThreads = regionThreads;
+        this.regionPool = regionThreads == 0 ? null : Executors.newFixedThreadPool(regionThreads, threadFactory("region"));
+        this.asyncThread = Executors.newSingleThreadExecutor(threadFactory("async"));
+    }
+
+    // ========= 虚拟时钟 ==========
+
+    /**
+     * 推进虚拟时钟，依次执行每个 tick 到期的任务
+     * @param ticks 推进的 tick 数
+     * @throws IllegalStateException 在调度器执行的任务中调用，或调度器已关闭
+     */
+    public void advanceTicks(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks must not be negative: " + ticks);
+        }
+        checkCaller();
+        synchronized (tickLock) {
+            for (long i = 0; i < ticks; i++) {
+                tick();
+            }
+        }
+    }
+
+    /**
+     * 推进虚拟时钟直到没有待执行的任务
+     * @param maxTicks 最多推进的 tick 数（周期任务永远不会结束）
+     * @return 实际推进的 tick 数
+     */
+    public long advanceUntilIdle(long maxTicks) {
+        checkCaller();
+        synchronized (tickLock) {
+            long ticks = 0;
+            while (ticks < maxTicks && getPendingCount() > 0) {
+                tick();
+                ticks++;
+            }
+            return ticks;
+        }
+    }
+
+    /**
+     * 获取当前虚拟 tick（尚未推进时为 0）
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * 获取尚未结束且未取消的任务数量（周期任务计为一项）
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (SimulatedTask task : live) {
+            if (!task.isCancelled()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * 获取已执行的任务次数（周期任务每次执行计一次），与 {@link #getTickTimeMillis()} 一起用于估算每个任务的调度开销
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * 获取区域工作线程数
+     */
+    public int getRegionThreads() {
+        return regionThreads;
+    }
+
+    /**
+     * 固定 {@link #getTickTimeMillis()} 的返回值，用于模拟服务器过载
+     * @param millis 报告的 MSPT，负数恢复为最近一个虚拟 tick 的实测耗时
+     * @return this
+     */
+    @NotNull
+    public SimulatedScheduler simulateTickTime(double millis) {
+        this.simulatedTickMillis = millis;
+        return this;
+    }
+
+    /**
+     * 关闭调度器：取消所有任务并停止工作线程
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (SimulatedTask task : live) {
+            task.cancel();
+        }
+        live.clear();
+        inbox.clear();
+        if (regionPool != null) {
+            regionPool.shutdownNow();
+        }
+        asyncThread.shutdownNow();
+    }
+
+    // ========= UniversalScheduler ==========
+
+    @Override
+    public boolean isFolia() {
+        return regionPool != null;
+    }
+
+    @Override
+    public UniversalTask runTask(@NotNull Runnable runnable) {
+        return submit(plugin, SimulatedTask.Kind.GLOBAL, runnable, null, null, null, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, @NotNull Runnable runnable) {
+        return submit(plugin, SimulatedTask.Kind.GLOBAL, runnable, null, null, null, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runTask(Location location, @NotNull Runnable runnable) {
+        return submit(plugin, SimulatedTask.Kind.REGION, runnable, null, location, null, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, Location location, @NotNull Runnable runnable) {
+        return submit(plugin, SimulatedTask.Kind.REGION, runnable, null, location, null, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runTask(Entity entity, @NotNull Runnable runnable) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, null, null, entity, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, Entity entity, @NotNull Runnable runnable) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, null, null, entity, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runTask(Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, retired, null, entity, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runTask(Plugin plugin, Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, retired, null, entity, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runLater(@NotNull Runnable runnable, long delay) {
+        return submit(plugin, SimulatedTask.Kind.GLOBAL, runnable, null, null, null, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, @NotNull Runnable runnable, long delay) {
+        return submit(plugin, SimulatedTask.Kind.GLOBAL, runnable, null, null, null, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runLater(Location location, @NotNull Runnable runnable, long delay) {
+        return submit(plugin, SimulatedTask.Kind.REGION, runnable, null, location, null, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, Location location, @NotNull Runnable runnable, long delay) {
+        return submit(plugin, SimulatedTask.Kind.REGION, runnable, null, location, null, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runLater(Entity entity, @NotNull Runnable runnable, long delay) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, null, null, entity, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, Entity entity, @NotNull Runnable runnable, long delay) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, null, null, entity, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runLater(Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired, long delay) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, retired, null, entity, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runLater(Plugin plugin, Entity entity, @NotNull Runnable runnable, @Nullable Runnable retired, long delay) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, retired, null, entity, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runTimer(@NotNull Runnable runnable, long delay, long period) {
+        return submit(plugin, SimulatedTask.Kind.GLOBAL, runnable, null, null, null, delay, UniversalScheduler.clampDelay(period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Plugin plugin, @NotNull Runnable runnable, long delay, long period) {
+        return submit(plugin, SimulatedTask.Kind.GLOBAL, runnable, null, null, null, delay, UniversalScheduler.clampDelay(period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Location location, @NotNull Runnable runnable, long delay, long period) {
+        return submit(plugin, SimulatedTask.Kind.REGION, runnable, null, location, null, delay, UniversalScheduler.clampDelay(period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Plugin plugin, Location location, @NotNull Runnable runnable, long delay, long period) {
+        return submit(plugin, SimulatedTask.Kind.REGION, runnable, null, location, null, delay, UniversalScheduler.clampDelay(period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Entity entity, @NotNull Runnable runnable, long delay, @Nullable Runnable retired, long period) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, retired, null, entity, delay, UniversalScheduler.clampDelay(period));
+    }
+
+    @Override
+    public UniversalTask runTimer(Plugin plugin, Entity entity, @NotNull Runnable runnable, long delay, @Nullable Runnable retired, long period) {
+        return submit(plugin, SimulatedTask.Kind.ENTITY, runnable, retired, null, entity, delay, UniversalScheduler.clampDelay(period));
+    }
+
+    @Override
+    public UniversalTask runAsync(@NotNull Runnable runnable) {
+        return submit(plugin, SimulatedTask.Kind.ASYNC, runnable, null, null, null, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runAsync(Plugin plugin, @NotNull Runnable runnable) {
+        return submit(plugin, SimulatedTask.Kind.ASYNC, runnable, null, null, null, 1, 0);
+    }
+
+    @Override
+    public UniversalTask runLaterAsync(@NotNull Runnable runnable, long delay) {
+        return submit(plugin, SimulatedTask.Kind.ASYNC, runnable, null, null, null, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runLaterAsync(Plugin plugin, @NotNull Runnable runnable, long delay) {
+        return submit(plugin, SimulatedTask.Kind.ASYNC, runnable, null, null, null, delay, 0);
+    }
+
+    @Override
+    public UniversalTask runTimerAsync(@NotNull Runnable runnable, long delay, long period) {
+        return submit(plugin, SimulatedTask.Kind.ASYNC, runnable, null, null, null, delay, UniversalScheduler.clampDelay(period));
+    }
+
+    @Override
+    public UniversalTask runTimerAsync(Plugin plugin, @NotNull Runnable runnable, long delay, long period) {
+        return submit(plugin, SimulatedTask.Kind.ASYNC, runnable, null, null, null, delay, UniversalScheduler.clampDelay(period));
+    }
+
+    @Override
+    public void cancelAllTasks(Plugin plugin) {
+        for (SimulatedTask task : live) {
+            if (task.plugin.equals(plugin)) {
+                task.cancel();
+            }
+        }
+    }
+
+    @Override
+    public void cancelTask(UniversalTask universalTask) {
+        if (universalTask != null) {
+            universalTask.cancel();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> teleportAsync(Entity entity, Location location) {
+        if (isOwnedByCurrentRegion(entity)) {
+            return CompletableFuture.completedFuture(entity.teleport(location));
+        }
+        return supplyFor(entity, () -> entity.teleport(location));
+    }
+
+    /**
+     * 最近一个虚拟 tick 的实测耗时，或 {@link #simulateTickTime(double)} 设置的值
+     */
+    @Override
+    public double getTickTimeMillis() {
+        double simulated = simulatedTickMillis;
+        if (simulated >= 0) return simulated;
+        long nanos = lastTickNanos;
+        return nanos < 0 ? -1 : nanos / 1_000_000.0;
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        Running running = current.get();
+        return running != null && !running.async && (running.region == null || regionPool == null);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(@NotNull Location location) {
+        Running running = current.get();
+        if (running == null || running.async) return false;
+        if (regionPool == null) return true;
+        return running.region != null && running.region.equals(RegionKey.of(location));
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(@NotNull Entity entity) {
+        return isOwnedByCurrentRegion(entity.getLocation());
+    }
+
+    @Override
+    public <E extends Entity> CompletableFuture<Void> forEachEntity(@NotNull Collection<? extends E> entities, @NotNull Consumer<? super E> action) {
+        if (regionPool == null) {
+            return UniversalScheduler.super.forEachEntity(entities, action);
+        }
+        Map<RegionKey, RegionGroup<E>> groups = new LinkedHashMap<>();
+        for (E entity : entities) {
+            Location location = entity.getLocation();
+            groups.computeIfAbsent(RegionKey.of(location), key -> new RegionGroup<>(location)).targets.add(entity);
+        }
+
+        BulkCompletion completion = new BulkCompletion(groups.size());
+        for (RegionGroup<E> group : groups.values()) {
+            runTask(group.anchor, () -> {
+                for (E entity : group.targets) {
+                    if (isOwnedByCurrentRegion(entity)) {
+                        completion.apply(entity, action);
+                        continue;
+                    }
+                    // 分组后实体已移动到其他区域，改由实体任务执行；实体已失效时跳过
+                    completion.fork();
+                    submit(plugin, SimulatedTask.Kind.ENTITY, () -> {
+                        completion.apply(entity, action);
+                        completion.done();
+                    }, completion::done, null, entity, 1, 0);
+                }
+                completion.done();
+            });
+        }
+        return completion.future();
+    }
+
+    @Override
+    public CompletableFuture<Void> forEachLocation(@NotNull Collection<? extends Location> locations, @NotNull Consumer<? super Location> action) {
+        if (regionPool == null) {
+            return UniversalScheduler.super.forEachLocation(locations, action);
+        }
+        Map<RegionKey, RegionGroup<Location>> groups = new LinkedHashMap<>();
+        for (Location location : locations) {
+            groups.computeIfAbsent(RegionKey.of(location), key -> new RegionGroup<>(location)).targets.add(location);
+        }
+
+        BulkCompletion completion = new BulkCompletion(groups.size());
+        for (RegionGroup<Location> group : groups.values()) {
+            runTask(group.anchor, () -> {
+                for (Location location : group.targets) {
+                    completion.apply(location, action);
+                }
+                completion.done();
+            });
+        }
+        return completion.future();
+    }
+
+    @Override
+    public Executor entityExecutor(@NotNull Entity entity) {
+        return runnable -> {
+            if (!entity.isValid()) {
+                throw new RejectedExecutionException("Entity has been removed: " + entity.getUniqueId());
+            }
+            submit(plugin, SimulatedTask.Kind.ENTITY, runnable,
+                    () -> UniversalScheduler.rejectRetired(plugin, entity, runnable), null, entity, 1, 0);
+        };
+    }
+
+    @Override
+    public <T> CompletableFuture<T> supplyFor(@NotNull Entity entity, @NotNull Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // 任务排队期间实体失效时由 retired 回调结束 Future
+        Runnable retired = () -> future.completeExceptionally(
+                new RejectedExecutionException("Entity has been removed: " + entity.getUniqueId()));
+        submit(plugin, SimulatedTask.Kind.ENTITY, () -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, retired, null, entity, 1, 0);
+        return future;
+    }
+
+    /*
+       ┌─────────────────────────────────────────────────────────────────┐
+       │  私有方法 | Private Method
+       └─────────────────────────────────────────────────────────────────┘
+     */
+
+    private SimulatedTask submit(@Nullable Plugin owner, SimulatedTask.Kind kind, Runnable runnable, @Nullable Runnable retired,
+                                 @Nullable Location location, @Nullable Entity entity, long delay, long period) {
+        if (shutdown) {
+            throw new IllegalStateException("SimulatedScheduler has been shut down");
+        }
+        if (location != null && location.getWorld() == null) {
+            throw new IllegalArgumentException("Location has no world: " + location);
+        }
+        Running running = current.get();
+        long origin;
+        long index;
+        if (running != null) {
+            origin = running.sequence;
+            index = running.children++;
+        } else {
+            origin = EXTERNAL;
+            index = externalIndex.getAndIncrement();
+        }
+        // 当前 tick 内提交的任务最早在下一 tick 执行
+        SimulatedTask task = new SimulatedTask(owner != null ? owner : plugin, kind, runnable, retired,
+                location == null ? null : location.clone(), entity,
+                currentTick + UniversalScheduler.clampDelay(delay), period, origin, index);
+        live.add(task);
+        inbox.offer(task);
+        return task;
+    }
+
+    private void checkCaller() {
+        if (current.get() != null) {
+            throw new IllegalStateException("Virtual time cannot be advanced from a scheduled task");
+        }
+        if (shutdown) {
+            throw new IllegalStateException("SimulatedScheduler has been shut down");
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        long now = ++currentTick;
+        drainInbox();
+
+        List<SimulatedTask> global = new ArrayList<>();
+        List<SimulatedTask> retired = new ArrayList<>();
+        List<SimulatedTask> async = new ArrayList<>();
+        TreeMap<RegionKey, List<SimulatedTask>> regions = new TreeMap<>();
+        List<SimulatedTask> dispatched = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().dueTick <= now) {
+            SimulatedTask task = queue.poll();
+            if (task.isCancelled()) {
+                live.remove(task);
+                continue;
+            }
+            switch (task.kind) {
+                case GLOBAL:
+                    global.add(task);
+                    break;
+                case ASYNC:
+                    async.add(task);
+                    break;
+                case REGION:
+                    regions.computeIfAbsent(RegionKey.of(task.location), key -> new ArrayList<>()).add(task);
+                    break;
+                default:
+                    // 实体任务跟随实体当前所在区域；实体已失效时不再执行
+                    if (!task.entity.isValid()) {
+                        live.remove(task);
+                        if (task.retired != null) retired.add(task);
+                        continue;
+                    }
+                    regions.computeIfAbsent(RegionKey.of(task.entity.getLocation()), key -> new ArrayList<>()).add(task);
+                    break;
+            }
+            dispatched.add(task);
+        }
+
+        // 1. 全局阶段：调用线程
+        for (SimulatedTask task : retired) {
+            execute(task, task.retired, null, false);
+        }
+        for (SimulatedTask task : global) {
+            execute(task, task::execute, null, false);
+        }
+
+        // 2. 区域阶段：各区域线程并行，全部完成后继续
+        if (!regions.isEmpty()) {
+            runRegions(regions);
+        }
+
+        // 3. 异步阶段：异步线程
+        if (!async.isEmpty()) {
+            await(asyncThread.submit(() -> {
+                for (SimulatedTask task : async) {
+                    execute(task, task::execute, null, true);
+                }
+            }));
+        }
+
+        // 周期任务保留原序号，下一次执行时的相对顺序不变
+        for (SimulatedTask task : dispatched) {
+            if (task.period > 0 && !task.isCancelled()) {
+                task.dueTick = now + task.period;
+                queue.add(task);
+            } else {
+                live.remove(task);
+            }
+        }
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * 按提交顺序为收件箱中的任务分配序号，与提交线程的实际交错无关
+     */
+    private void drainInbox() {
+        List<SimulatedTask> submitted = new ArrayList<>();
+        SimulatedTask task;
+        while ((task = inbox.poll()) != null) {
+            submitted.add(task);
+        }
+        submitted.sort(SUBMIT_ORDER);
+        for (SimulatedTask next : submitted) {
+            next.sequence = nextSequence++;
+            queue.add(next);
+        }
+    }
+
+    private void runRegions(TreeMap<RegionKey, List<SimulatedTask>> regions) {
+        if (regionPool == null) {
+            for (Map.Entry<RegionKey, List<SimulatedTask>> entry : regions.entrySet()) {
+                runRegion(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        // 区域固定分配到工作线程，同一线程上的区域按坐标顺序执行
+        List<List<Map.Entry<RegionKey, List<SimulatedTask>>>> workers = new ArrayList<>(regionThreads);
+        for (int i = 0; i < regionThreads; i++) {
+            workers.add(new ArrayList<>());
+        }
+        for (Map.Entry<RegionKey, List<SimulatedTask>> entry : regions.entrySet()) {
+            workers.get(Math.floorMod(entry.getKey().hashCode(), regionThreads)).add(entry);
+        }
+        List<Callable<Void>> jobs = new ArrayList<>();
+        for (List<Map.Entry<RegionKey, List<SimulatedTask>>> assigned : workers) {
+            if (assigned.isEmpty()) continue;
+            jobs.add(() -> {
+                for (Map.Entry<RegionKey, List<SimulatedTask>> entry : assigned) {
+                    runRegion(entry.getKey(), entry.getValue());
+                }
+                return null;
+            });
+        }
+        List<Future<Void>> futures;
+        try {
+            futures = regionPool.invokeAll(jobs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for region threads", e);
+        }
+        for (Future<Void> future : futures) {
+            await(future);
+        }
+    }
+
+    private void runRegion(RegionKey region, List<SimulatedTask> tasks) {
+        for (SimulatedTask task : tasks) {
+            execute(task, task::execute, region, false);
+        }
+    }
+
+    private void execute(SimulatedTask task, Runnable action, @Nullable RegionKey region, boolean async) {
+        Running previous = current.get();
+        current.set(new Running(task.sequence, region, async));
+        try {
+            action.run();
+        } catch (Throwable throwable) {
+            task.plugin.getLogger().log(Level.WARNING, "Simulated task threw an exception", throwable);
+        } finally {
+            current.set(previous);
+            executed.increment();
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for simulated tasks", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulated tick failed", e.getCause());
+        }
+    }
+
+    private ThreadFactory threadFactory(String role) {
+        AtomicInteger counter = new AtomicInteger();
+        String prefix = plugin.getName() + "-simulated-" + role + "-";
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 正在执行的任务（线程本地）
+     */
+    private static final class Running {
+        final long sequence;
+        // 全局与异步任务为 null
+        final RegionKey region;
+        final boolean async;
+        // 只由执行该任务的线程访问
+        long children;
+
+        Running(long sequence, RegionKey region, boolean async) {
+            this.sequence = sequence;
+            this.region = region;
+            this.async = async;
+        }
+    }
+
+    /**
+     * 区域段（16×16 区块），与 Folia 的区域段大小相同
+     */
+    private static final class RegionKey implements Comparable<RegionKey> {
+        private static final int SECTION_SHIFT = 4;
+
+        private final UUID world;
+        private final int x;
+        private final int z;
+
+        private RegionKey(UUID world, int x, int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        static RegionKey of(Location location) {
+            return new RegionKey(location.getWorld().getUID(),
+                    (location.getBlockX() >> 4) >> SECTION_SHIFT, (location.getBlockZ() >> 4) >> SECTION_SHIFT);
+        }
+
+        @Override
+        public int compareTo(RegionKey other) {
+            int result = world.compareTo(other.world);
+            if (result != 0) return result;
+            result = Integer.compare(x, other.x);
+            return result != 0 ? result : Integer.compare(z, other.z);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RegionKey)) return false;
+            RegionKey other = (RegionKey) o;
+            return x == other.x && z == other.z && world.equals(other.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return (world.hashCode() * 31 + x) * 31 + z;
+        }
+    }
+
+    private static final class RegionGroup<T> {
+        private final Location anchor;
+        private final List<T> targets = new ArrayList<>();
+
+        private RegionGroup(Location anchor) {
+            this.anchor = anchor;
+        }
+    }
+}
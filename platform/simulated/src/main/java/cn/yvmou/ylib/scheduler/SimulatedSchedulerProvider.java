@@ -0,0 +1,34 @@
+package cn.yvmou.ylib.scheduler;
+
+import cn.yvmou.ylib.ServerType;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * 模拟调度器提供器，类路径中没有任何服务端时由 YLib 选用
+ * <p>
+ * {@link SchedulerOptions} 中只有统计相关的选项（由 YLib 包装调度器实现）生效；
+ * 异步任务固定在模拟异步线程上按虚拟时钟执行，异步后端和并发上限不适用，设置了非默认值时记录警告。
+ * </p>
+ */
+public class SimulatedSchedulerProvider implements UniversalSchedulerProvider {
+
+    @Override
+    public ServerType getServerType() {
+        return ServerType.SIMULATED;
+    }
+
+    @Override
+    public UniversalScheduler create(Plugin plugin) {
+        return new SimulatedScheduler(plugin);
+    }
+
+    @Override
+    public UniversalScheduler create(Plugin plugin, SchedulerOptions options) {
+        if (options.getAsyncBackend() != SchedulerOptions.AsyncBackend.SERVER
+                || options.getMaxAsyncConcurrency() != SchedulerOptions.DEFAULT_MAX_ASYNC_CONCURRENCY) {
+            plugin.getLogger().warning("Simulated scheduler runs async tasks on its own virtual clock, ignoring async backend "
+                    + options.getAsyncBackend() + " and max concurrency " + options.getMaxAsyncConcurrency());
+        }
+        return new SimulatedScheduler(plugin);
+    }
+}
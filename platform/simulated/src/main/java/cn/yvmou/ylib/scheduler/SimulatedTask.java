@@ -0,0 +1,99 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * 模拟调度器任务
+ * <p>
+ * 调度相关字段（到期 tick、序号）只由推进 tick 的线程访问；取消标记可由任意线程设置。
+ * </p>
+ *
+ * @author yvmoux
+ * @since 1.0.0
+ */
+public class SimulatedTask implements UniversalTask {
+
+    /**
+     * 任务执行的上下文
+     */
+    enum Kind {
+        GLOBAL,
+        REGION,
+        ENTITY,
+        ASYNC
+    }
+
+    final Plugin plugin;
+    final Kind kind;
+    final Runnable runnable;
+    final Runnable retired;
+    final Location location;
+    final Entity entity;
+    final long period;
+
+    // 提交顺序：提交时所在任务的序号（外部提交为 Long.MIN_VALUE）+ 该任务内的提交次序
+    final long origin;
+    final long childIndex;
+    long sequence;
+    long dueTick;
+
+    private volatile boolean cancelled;
+    private volatile boolean running;
+
+    SimulatedTask(Plugin plugin, Kind kind, Runnable runnable, Runnable retired, Location location, Entity entity,
+                  long dueTick, long period, long origin, long childIndex) {
+        this.plugin = plugin;
+        this.kind = kind;
+        this.runnable = runnable;
+        this.retired = retired;
+        this.location = location;
+        this.entity = entity;
+        this.dueTick = dueTick;
+        this.period = period;
+        this.origin = origin;
+        this.childIndex = childIndex;
+    }
+
+    /**
+     * 执行一次
+     * @return 任务是否需要按周期再次执行
+     */
+    boolean execute() {
+        if (cancelled) return false;
+        running = true;
+        try {
+            runnable.run();
+        } finally {
+            running = false;
+        }
+        return period > 0 && !cancelled;
+    }
+
+    @Override
+    public Plugin getOwningPlugin() {
+        return plugin;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isCurrentlyRunning() {
+        return running;
+    }
+
+    @Override
+    public TaskType getType() {
+        if (period > 0) return TaskType.REPEATING;
+        return kind == Kind.ASYNC ? TaskType.ASYNC : TaskType.SYNC;
+    }
+}
@@ -0,0 +1,380 @@
+package cn.yvmou.ylib.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedSchedulerTest {
+    private static final Plugin PLUGIN = (Plugin) Proxy.newProxyInstance(
+            Plugin.class.getClassLoader(), new Class<?>[]{Plugin.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getName":
+                        return "Test";
+                    case "getLogger":
+                        return Logger.getLogger("SimulatedSchedulerTest");
+                    case "isEnabled":
+                        return true;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+    private static final World WORLD = world(new UUID(0, 1));
+
+    private final List<SimulatedScheduler> schedulers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (SimulatedScheduler scheduler : schedulers) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void advanceTicksRunsTasksAtTheirDueTickInSubmitOrder() {
+        SimulatedScheduler scheduler = scheduler(4);
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        scheduler.runLater(() -> log.add("b@" + scheduler.getCurrentTick()), 3);
+        scheduler.runLater(() -> log.add("a@" + scheduler.getCurrentTick()), 1);
+        scheduler.runLater(() -> log.add("c@" + scheduler.getCurrentTick()), 3);
+        scheduler.runTask(() -> scheduler.runTask(() -> log.add("child@" + scheduler.getCurrentTick())));
+
+        scheduler.advanceTicks(2);
+        assertEquals(Arrays.asList("a@1", "child@2"), log);
+
+        scheduler.advanceTicks(1);
+        assertEquals(Arrays.asList("a@1", "child@2", "b@3", "c@3"), log);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void timersRepeatUntilCancelled() {
+        SimulatedScheduler scheduler = scheduler(4);
+        List<Long> ticks = new ArrayList<>();
+        UniversalTask timer = scheduler.runTimer(() -> ticks.add(scheduler.getCurrentTick()), 2, 3);
+
+        scheduler.advanceTicks(8);
+        assertEquals(Arrays.asList(2L, 5L, 8L), ticks);
+
+        timer.cancel();
+        scheduler.advanceTicks(10);
+        assertEquals(3, ticks.size());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void phasesRunGlobalThenRegionsThenAsync() {
+        SimulatedScheduler scheduler = scheduler(4);
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        Location location = new Location(WORLD, 1000, 64, -1000);
+        AtomicBoolean violation = new AtomicBoolean();
+
+        scheduler.runAsync(() -> {
+            if (scheduler.isGlobalThread() || scheduler.isOwnedByCurrentRegion(location)) violation.set(true);
+            log.add("async");
+        });
+        scheduler.runTask(location, () -> {
+            if (scheduler.isGlobalThread() || !scheduler.isOwnedByCurrentRegion(location)) violation.set(true);
+            log.add("region");
+        });
+        scheduler.runTask(() -> {
+            if (!scheduler.isGlobalThread() || scheduler.isOwnedByCurrentRegion(location)) violation.set(true);
+            log.add("global");
+        });
+
+        scheduler.advanceTicks(1);
+        assertEquals(Arrays.asList("global", "region", "async"), log);
+        assertFalse(violation.get());
+    }
+
+    @Test
+    void regionsOnlyOwnTheirOwnSection() {
+        SimulatedScheduler scheduler = scheduler(4);
+        Location near = new Location(WORLD, 0, 64, 0);
+        Location sameSection = new Location(WORLD, 255, 64, 255);
+        Location otherSection = new Location(WORLD, 256, 64, 0);
+        List<Boolean> owned = Collections.synchronizedList(new ArrayList<>());
+
+        scheduler.runTask(near, () -> {
+            owned.add(scheduler.isOwnedByCurrentRegion(sameSection));
+            owned.add(scheduler.isOwnedByCurrentRegion(otherSection));
+        });
+        scheduler.advanceTicks(1);
+
+        assertEquals(Arrays.asList(true, false), owned);
+    }
+
+    @Test
+    void entityTasksFollowTheEntity() {
+        SimulatedScheduler scheduler = scheduler(4);
+        FakeEntity entity = new FakeEntity(new Location(WORLD, 0, 64, 0));
+        Location destination = new Location(WORLD, 5000, 64, 5000);
+        List<Boolean> owned = Collections.synchronizedList(new ArrayList<>());
+
+        scheduler.runTimer(entity.proxy, () -> owned.add(scheduler.isOwnedByCurrentRegion(destination)), 1, null, 1);
+        scheduler.advanceTicks(1);
+        entity.location = destination;
+        scheduler.advanceTicks(1);
+
+        assertEquals(Arrays.asList(false, true), owned);
+    }
+
+    @Test
+    void retiredEntityRunsRetiredCallbackInsteadOfTask() {
+        SimulatedScheduler scheduler = scheduler(4);
+        FakeEntity entity = new FakeEntity(new Location(WORLD, 0, 64, 0));
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger retired = new AtomicInteger();
+        AtomicBoolean retiredOnGlobal = new AtomicBoolean();
+
+        scheduler.runTimer(entity.proxy, runs::incrementAndGet, 1, () -> {
+            retiredOnGlobal.set(scheduler.isGlobalThread());
+            retired.incrementAndGet();
+        }, 1);
+        scheduler.advanceTicks(2);
+        entity.valid = false;
+        scheduler.advanceTicks(3);
+
+        assertEquals(2, runs.get());
+        assertEquals(1, retired.get());
+        assertTrue(retiredOnGlobal.get());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void supplyForFailsWhenEntityIsRetired() throws Exception {
+        SimulatedScheduler scheduler = scheduler(4);
+        FakeEntity entity = new FakeEntity(new Location(WORLD, 0, 64, 0));
+
+        CompletableFuture<String> alive = scheduler.supplyFor(entity.proxy, () -> "ok");
+        scheduler.advanceTicks(1);
+        assertEquals("ok", alive.get());
+
+        CompletableFuture<String> removed = scheduler.supplyFor(entity.proxy, () -> "never");
+        entity.valid = false;
+        scheduler.advanceTicks(1);
+        ExecutionException failure = assertThrows(ExecutionException.class, removed::get);
+        assertTrue(failure.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void entityExecutorCancelsFutureWorkForRetiredEntity() {
+        SimulatedScheduler scheduler = scheduler(4);
+        FakeEntity entity = new FakeEntity(new Location(WORLD, 0, 64, 0));
+        FutureTask<String> work = new FutureTask<>(() -> "never");
+
+        scheduler.entityExecutor(entity.proxy).execute(work);
+        entity.valid = false;
+        scheduler.advanceTicks(1);
+
+        assertTrue(work.isCancelled());
+        assertThrows(RejectedExecutionException.class, () -> scheduler.entityExecutor(entity.proxy).execute(() -> { }));
+    }
+
+    @Test
+    void instrumentedEntityExecutorCancelsFutureWorkForRetiredEntity() {
+        SimulatedScheduler scheduler = scheduler(4);
+        TaskStatistics statistics = new TaskStatistics(PLUGIN, 1000);
+        try {
+            UniversalScheduler instrumented = new InstrumentedScheduler(scheduler, statistics);
+            FakeEntity entity = new FakeEntity(new Location(WORLD, 0, 64, 0));
+            FutureTask<String> work = new FutureTask<>(() -> "never");
+
+            instrumented.entityExecutor(entity.proxy).execute(work);
+            entity.valid = false;
+            scheduler.advanceTicks(1);
+
+            assertTrue(work.isCancelled());
+        } finally {
+            statistics.close();
+        }
+    }
+
+    @Test
+    void taskBatcherDropsWorkForEntityRetiredWhileQueued() {
+        SimulatedScheduler scheduler = scheduler(4);
+        TaskBatcher batcher = new TaskBatcher(PLUGIN, scheduler);
+        Location location = new Location(WORLD, 0, 64, 0);
+        FakeEntity entity = new FakeEntity(location);
+        AtomicInteger runs = new AtomicInteger();
+
+        UniversalTask delayed = batcher.runLater(entity.proxy, runs::incrementAndGet, 3);
+        scheduler.advanceTicks(1);
+        UniversalTask queued = batcher.runTask(entity.proxy, runs::incrementAndGet);
+        entity.valid = false;
+        scheduler.advanceTicks(2);
+
+        assertEquals(0, runs.get());
+        assertTrue(queued.isCancelled());
+        assertTrue(delayed.isCancelled());
+        assertEquals(0, batcher.getActiveBatchCount());
+
+        // 同一 UUID 的新实体（如重新进入的玩家）使用新的队列
+        FakeEntity rejoined = new FakeEntity(entity.uuid, location);
+        UniversalTask next = batcher.runTask(rejoined.proxy, runs::incrementAndGet);
+        scheduler.advanceTicks(1);
+
+        assertEquals(1, runs.get());
+        assertFalse(next.isCancelled());
+    }
+
+    @Test
+    void budgetedExecutorShutsDownWhenEntityRetiresWhileQueued() {
+        SimulatedScheduler scheduler = scheduler(4);
+        FakeEntity entity = new FakeEntity(new Location(WORLD, 0, 64, 0));
+        BudgetedExecutor executor = new BudgetedExecutor(PLUGIN, scheduler, SchedulerContext.of(entity.proxy), 5, TimeUnit.MILLISECONDS);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Void> work = executor.submit(runs::incrementAndGet);
+        entity.valid = false;
+        scheduler.advanceTicks(1);
+
+        assertEquals(0, runs.get());
+        assertThrows(CancellationException.class, work::get);
+        assertEquals(0, executor.getPendingCount());
+        assertThrows(IllegalStateException.class, () -> executor.submit(runs::incrementAndGet));
+    }
+
+    @Test
+    void singleThreadModeRunsEverythingOnTheCaller() {
+        SimulatedScheduler scheduler = scheduler(0);
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean regionOnGlobal = new AtomicBoolean();
+        Location location = new Location(WORLD, 4096, 64, 4096);
+
+        scheduler.runTask(() -> threads.add(Thread.currentThread()));
+        scheduler.runTask(location, () -> {
+            threads.add(Thread.currentThread());
+            regionOnGlobal.set(scheduler.isGlobalThread() && scheduler.isOwnedByCurrentRegion(location));
+        });
+        scheduler.advanceTicks(1);
+
+        assertFalse(scheduler.isFolia());
+        assertEquals(Arrays.asList(caller, caller), threads);
+        assertTrue(regionOnGlobal.get());
+    }
+
+    @Test
+    void executionOrderIsDeterministic() {
+        String first = interleave();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first, interleave());
+        }
+    }
+
+    @Test
+    void advancingFromATaskIsRejected() {
+        SimulatedScheduler scheduler = scheduler(4);
+        AtomicBoolean rejected = new AtomicBoolean();
+        scheduler.runTask(() -> {
+            try {
+                scheduler.advanceTicks(1);
+            } catch (IllegalStateException expected) {
+                rejected.set(true);
+            }
+        });
+        scheduler.advanceTicks(1);
+        assertTrue(rejected.get());
+    }
+
+    private String interleave() {
+        SimulatedScheduler scheduler = scheduler(4);
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        for (int region = 0; region < 8; region++) {
+            Location location = new Location(WORLD, region * 300, 64, 0);
+            int id = region;
+            scheduler.runTimer(location, () -> {
+                scheduler.runTask(() -> log.add("g" + id + "@" + scheduler.getCurrentTick()));
+                scheduler.runAsync(() -> log.add("a" + id + "@" + scheduler.getCurrentTick()));
+            }, 1, 2);
+        }
+        scheduler.advanceTicks(6);
+        return String.valueOf(log);
+    }
+
+    private SimulatedScheduler scheduler(int regionThreads) {
+        SimulatedScheduler scheduler = new SimulatedScheduler(PLUGIN, regionThreads);
+        schedulers.add(scheduler);
+        return scheduler;
+    }
+
+    private static World world(UUID uid) {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getUID":
+                            return uid;
+                        case "hashCode":
+                            return uid.hashCode();
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * 位置和存活状态可变的实体
+     */
+    private static final class FakeEntity {
+        private final UUID uuid;
+        private volatile Location location;
+        private volatile boolean valid = true;
+        private final Entity proxy;
+
+        private FakeEntity(Location location) {
+            this(UUID.randomUUID(), location);
+        }
+
+        private FakeEntity(UUID uuid, Location location) {
+            this.uuid = uuid;
+            this.location = location;
+            this.proxy = (Entity) Proxy.newProxyInstance(Entity.class.getClassLoader(), new Class<?>[]{Entity.class},
+                    (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "getLocation":
+                                return this.location.clone();
+                            case "getWorld":
+                                return this.location.getWorld();
+                            case "isValid":
+                                return valid;
+                            case "getUniqueId":
+                                return uuid;
+                            case "hashCode":
+                                return uuid.hashCode();
+                            case "equals":
+                                return p == args[0];
+                            default:
+                                return null;
+                        }
+                    });
+        }
+    }
+}
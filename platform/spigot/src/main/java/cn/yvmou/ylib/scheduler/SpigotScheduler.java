@@ -10,6 +10,8 @@ import org.bukkit.scheduler.BukkitScheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Spigot调度器管理器实现（Paper 服务器同样基于 BukkitScheduler，可直接复用）
  *
@@ -20,14 +22,26 @@ public class SpigotScheduler implements UniversalScheduler {
 
     private final Plugin plugin;
     private final BukkitScheduler scheduler;
+    // 自定义异步后端，使用服务端异步调度器时为 null
+    private final AsyncDispatcher asyncDispatcher;
 
     /**
      * 构造函数
      * @param plugin 插件实例
      */
     public SpigotScheduler(Plugin plugin) {
+        this(plugin, new SchedulerOptions());
+    }
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param options 调度器选项
+     */
+    public SpigotScheduler(Plugin plugin, SchedulerOptions options) {
         this.plugin = plugin;
         this.scheduler = Bukkit.getScheduler();
+        this.asyncDispatcher = AsyncDispatcher.create(plugin, options);
     }
 
     @Override
@@ -145,11 +159,17 @@ public class SpigotScheduler implements UniversalScheduler {
 
     @Override
     public UniversalTask runAsync(@NotNull Runnable runnable) {
+        if (asyncDispatcher != null) {
+            return asyncDispatcher.submit(plugin, runnable);
+        }
         return new SpigotTask(scheduler.runTaskAsynchronously(plugin, runnable));
     }
 
     @Override
     public UniversalTask runAsync(Plugin plugin, @NotNull Runnable runnable) {
+        if (asyncDispatcher != null) {
+            return asyncDispatcher.submit(plugin, runnable);
+        }
         return new SpigotTask(scheduler.runTaskAsynchronously(plugin, runnable));
     }
 
@@ -182,6 +202,9 @@ public class SpigotScheduler implements UniversalScheduler {
     @Override
     public void cancelAllTasks(Plugin plugin) {
         scheduler.cancelTasks(plugin);
+        if (asyncDispatcher != null) {
+            asyncDispatcher.cancelAll(plugin);
+        }
     }
 
     @Override
@@ -192,7 +215,11 @@ public class SpigotScheduler implements UniversalScheduler {
     }
 
     @Override
-    public void teleportAsync(Entity entity, Location location) {
-        runTask(() -> entity.teleport(location));
+    public CompletableFuture<Boolean> teleportAsync(Entity entity, Location location) {
+        // Spigot 没有异步传送，主线程上直接传送，其他线程调度到主线程
+        if (Bukkit.isPrimaryThread()) {
+            return CompletableFuture.completedFuture(entity.teleport(location));
+        }
+        return supplySync(() -> entity.teleport(location));
     }
 }
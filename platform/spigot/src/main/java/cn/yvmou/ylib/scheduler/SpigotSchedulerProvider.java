@@ -17,4 +17,9 @@ public class SpigotSchedulerProvider implements UniversalSchedulerProvider {
     public UniversalScheduler create(Plugin plugin) {
         return new SpigotScheduler(plugin);
     }
+
+    @Override
+    public UniversalScheduler create(Plugin plugin, SchedulerOptions options) {
+        return new SpigotScheduler(plugin, options);
+    }
 }
@@ -4,4 +4,5 @@ include("api")
 include("core")
 include("platform:folia")
 include("platform:spigot")
-include("platform:paper")
\ No newline at end of file
+include("platform:paper")
+include("platform:simulated")